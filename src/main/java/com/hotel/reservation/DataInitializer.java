@@ -29,6 +29,8 @@ public class DataInitializer implements CommandLineRunner {
                     .email("info@grandpalace.com")
                     .phone("+1-555-0123")
                     .rating(4.5)
+                    .latitude(40.7128)
+                    .longitude(-74.0060)
                     .isActive(true)
                     .build());
             
@@ -38,6 +40,8 @@ public class DataInitializer implements CommandLineRunner {
                     .email("info@luxuryresort.com")
                     .phone("+1-555-0456")
                     .rating(4.8)
+                    .latitude(25.7907)
+                    .longitude(-80.1300)
                     .isActive(true)
                     .build());
             
@@ -0,0 +1,184 @@
+package com.hotel.reservation.config;
+
+import com.hotel.reservation.security.JwtUserPrincipal;
+import com.hotel.reservation.service.IdempotencyService;
+import com.hotel.reservation.service.IdempotencyService.Claim;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Makes retried booking and payment POSTs safe. A request carrying an
+ * Idempotency-Key header runs once; retries with the same key and body get
+ * the stored response back instead of creating new rows.
+ *
+ * Keys belong to the authenticated user, so another client reusing a key never
+ * sees the stored response. Anonymous requests are passed through unchanged.
+ */
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final Pattern IDEMPOTENT_PATHS = Pattern.compile(
+            "/api/reservations|/api/reservations/\\d+/payment|/api/payments/create-order");
+
+    private final IdempotencyService idempotencyService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equalsIgnoreCase(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !IDEMPOTENT_PATHS.matcher(request.getRequestURI()).matches()
+                || caller() == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(HEADER).trim();
+        if (key.isEmpty() || key.length() > 100) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid Idempotency-Key header");
+            return;
+        }
+
+        String caller = caller();
+        String path = request.getRequestURI();
+        byte[] body = request.getInputStream().readAllBytes();
+        String requestHash = sha256(body);
+
+        Claim claim = idempotencyService.claim(caller, key, path, requestHash);
+        switch (claim.decision()) {
+            case REPLAY -> {
+                response.setStatus(claim.response().status());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setHeader("Idempotent-Replayed", "true");
+                if (claim.response().body() != null) {
+                    response.getOutputStream().write(claim.response().body().getBytes(StandardCharsets.UTF_8));
+                }
+                return;
+            }
+            case IN_PROGRESS -> {
+                response.sendError(HttpServletResponse.SC_CONFLICT, "A request with this Idempotency-Key is in progress");
+                return;
+            }
+            case MISMATCH -> {
+                response.sendError(422, "Idempotency-Key was already used for a different request");
+                return;
+            }
+            default -> {
+            }
+        }
+
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(new CachedBodyRequest(request, body), cachingResponse);
+            int status = cachingResponse.getStatus();
+            // Only successful outcomes are kept; failed attempts rolled back and may be retried
+            if (status >= 200 && status < 300) {
+                String responseBody = new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8);
+                idempotencyService.complete(caller, key, path, requestHash, status, responseBody);
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                idempotencyService.abandon(caller, key, path);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * Owner of the request's keys: the user id from the JWT, or null when unauthenticated
+     */
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof JwtUserPrincipal principal)) {
+            return null;
+        }
+        return principal.getUserId() != null ? "user:" + principal.getUserId() : "email:" + principal.getEmail();
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Request whose body was already read for hashing and is replayed to the controller
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so it is ready at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (in.available() > 0) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+    }
+}
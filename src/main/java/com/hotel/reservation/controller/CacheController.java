@@ -0,0 +1,35 @@
+package com.hotel.reservation.controller;
+
+import com.hotel.reservation.service.EntityCacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class CacheController {
+
+    private final EntityCacheStats entityCacheStats;
+
+    /**
+     * Second-level cache counters per entity region (Admin only)
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<CacheStatsResponse> getStats() {
+        return ResponseEntity.ok(new CacheStatsResponse(entityCacheStats.isEnabled(), entityCacheStats.regions()));
+    }
+
+    public static class CacheStatsResponse {
+        public final boolean statisticsEnabled;
+        public final List<EntityCacheStats.Region> regions;
+
+        public CacheStatsResponse(boolean statisticsEnabled, List<EntityCacheStats.Region> regions) {
+            this.statisticsEnabled = statisticsEnabled;
+            this.regions = regions;
+        }
+    }
+}
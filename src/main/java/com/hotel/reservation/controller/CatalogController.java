@@ -0,0 +1,32 @@
+package com.hotel.reservation.controller;
+
+import com.hotel.reservation.service.CatalogCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/catalog")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class CatalogController {
+
+    private final CatalogCache catalogCache;
+
+    /**
+     * Compare the in-memory hotel and room catalog with the database (Admin only)
+     */
+    @GetMapping("/check")
+    public ResponseEntity<CatalogCache.Check> check() {
+        return ResponseEntity.ok(catalogCache.check());
+    }
+
+    /**
+     * Rebuild the catalog from the database, e.g. after direct SQL edits (Admin only)
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<CatalogCache.Check> refresh() {
+        catalogCache.refresh();
+        return ResponseEntity.ok(catalogCache.check());
+    }
+}
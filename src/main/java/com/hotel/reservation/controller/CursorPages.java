@@ -0,0 +1,33 @@
+package com.hotel.reservation.controller;
+
+import com.hotel.reservation.service.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Renders keyset pages: the items as the body, the continuation token in a
+ * header so paged and unpaged responses share one body shape
+ */
+final class CursorPages {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorPages() {
+    }
+
+    /**
+     * True if the request asked for a page rather than the full listing
+     */
+    static boolean requested(String cursor, Integer limit) {
+        return cursor != null || limit != null;
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+}
@@ -1,8 +1,13 @@
 package com.hotel.reservation.controller;
 
 import com.hotel.reservation.model.Hotel;
+import com.hotel.reservation.service.AutocompleteIndex;
+import com.hotel.reservation.service.CatalogCache;
 import com.hotel.reservation.service.HotelService;
+import com.hotel.reservation.service.NearbyHotel;
+import com.hotel.reservation.service.PageCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -16,15 +21,34 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000")
 public class HotelController {
 
+    private static final double MAX_RADIUS_KM = 500;
+    private static final int MAX_NEARBY = 100;
+
     private final HotelService hotelService;
+    private final CatalogCache catalogCache;
 
     /**
-     * Get all active hotels
+     * Get all active hotels, or one keyset page of them when cursor or limit is
+     * given. The full list carries the catalog ETag and honours If-None-Match.
      */
     @GetMapping
-    public ResponseEntity<List<Hotel>> getAllHotels() {
+    public ResponseEntity<List<Hotel>> getAllHotels(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (CursorPages.requested(cursor, limit)) {
+            try {
+                return CursorPages.ok(hotelService.getActiveHotelsPage(cursor, PageCursor.limit(limit)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        String etag = catalogCache.etag();
+        if (ConditionalGets.notModified(ifNoneMatch, etag)) {
+            return ConditionalGets.notModifiedResponse(etag);
+        }
         List<Hotel> hotels = hotelService.getAllActiveHotels();
-        return ResponseEntity.ok(hotels);
+        return ConditionalGets.ok(etag, hotels);
     }
 
     /**
@@ -38,24 +62,73 @@ public class HotelController {
     }
 
     /**
-     * Search hotels by location
+     * Search hotels by location or name; fuzzy=true also returns hotels
+     * matching despite typos, after the exact matches
      */
     @GetMapping("/search")
     public ResponseEntity<List<Hotel>> searchHotels(
             @RequestParam(required = false) String location,
-            @RequestParam(required = false) String name) {
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String amenities,
+            @RequestParam(defaultValue = "false") boolean fuzzy) {
         
         List<Hotel> hotels;
         
         if (location != null && !location.trim().isEmpty()) {
-            hotels = hotelService.getHotelsByLocation(location);
+            hotels = hotelService.searchHotelsByLocation(location, fuzzy);
         } else if (name != null && !name.trim().isEmpty()) {
-            hotels = hotelService.searchHotelsByName(name);
+            hotels = hotelService.searchHotelsByName(name, fuzzy);
         } else {
             hotels = hotelService.getAllActiveHotels();
         }
         
-        return ResponseEntity.ok(hotels);
+        return ResponseEntity.ok(hotelService.filterByAmenities(hotels, amenities));
+    }
+
+    /**
+     * Type-ahead suggestions for the search box
+     */
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<AutocompleteIndex.Suggestion>> autocomplete(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "5") int limit) {
+        return ResponseEntity.ok(hotelService.autocomplete(q, limit));
+    }
+
+    /**
+     * Hotels within radiusKm of a point and/or the nearest limit hotels, nearest first
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyHotel>> findHotelsNearby(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(required = false) Integer limit) {
+        
+        if (!isValidPoint(lat, lng) || (radiusKm == null && limit == null)
+                || (radiusKm != null && (radiusKm <= 0 || radiusKm > MAX_RADIUS_KM))
+                || (limit != null && (limit <= 0 || limit > MAX_NEARBY))) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        return ResponseEntity.ok(hotelService.findHotelsNear(lat, lng, radiusKm, limit));
+    }
+
+    /**
+     * Hotels inside a bounding box; minLng greater than maxLng crosses the antimeridian
+     */
+    @GetMapping("/within")
+    public ResponseEntity<List<NearbyHotel>> findHotelsWithin(
+            @RequestParam double minLat,
+            @RequestParam double maxLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLng) {
+        
+        if (!isValidPoint(minLat, minLng) || !isValidPoint(maxLat, maxLng) || minLat > maxLat) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        return ResponseEntity.ok(hotelService.findHotelsInBox(minLat, maxLat, minLng, maxLng));
     }
 
     /**
@@ -120,6 +193,10 @@ public class HotelController {
         return ResponseEntity.ok(new HotelStatsResponse(totalHotels));
     }
     
+    private static boolean isValidPoint(double lat, double lng) {
+        return lat >= -90 && lat <= 90 && lng >= -180 && lng <= 180;
+    }
+    
     // Response DTO for stats
     private static class HotelStatsResponse {
         public final long totalActiveHotels;
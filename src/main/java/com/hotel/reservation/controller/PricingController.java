@@ -0,0 +1,92 @@
+package com.hotel.reservation.controller;
+
+import com.hotel.reservation.service.OccupancyCounters;
+import com.hotel.reservation.service.OccupancyPricing;
+import com.hotel.reservation.service.PricingEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/pricing")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class PricingController {
+
+    private final PricingEngine pricingEngine;
+    private final OccupancyCounters occupancyCounters;
+    private final OccupancyPricing occupancyPricing;
+
+    /**
+     * Get the active pricing rules (Admin only)
+     */
+    @GetMapping("/rules")
+    public ResponseEntity<RulesResponse> getRules() {
+        return ResponseEntity.ok(new RulesResponse(
+                pricingEngine.getRulesVersion(),
+                pricingEngine.getRules().size(),
+                pricingEngine.getRulesText()));
+    }
+
+    /**
+     * Re-read the pricing rules file without a restart (Admin only)
+     */
+    @PostMapping("/rules/reload")
+    public ResponseEntity<RulesResponse> reloadRules() {
+        try {
+            pricingEngine.reload();
+            return getRules();
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(new RulesResponse(
+                    pricingEngine.getRulesVersion(), pricingEngine.getRules().size(), e.getMessage()));
+        }
+    }
+
+    /**
+     * Live occupancy of a hotel over a stay and the pricing tier it falls into
+     */
+    @GetMapping("/occupancy/{hotelId}")
+    public ResponseEntity<OccupancyResponse> getOccupancy(
+            @PathVariable Long hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+        if (!checkOut.isAfter(checkIn)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new OccupancyResponse(
+                hotelId,
+                occupancyCounters.activeRooms(hotelId),
+                occupancyCounters.occupancyPercent(hotelId, checkIn, checkOut),
+                occupancyPricing.tierFor(hotelId, checkIn, checkOut)));
+    }
+
+    // Response DTOs
+    public static class RulesResponse {
+        public final long version;
+        public final int ruleCount;
+        public final String rules;
+
+        public RulesResponse(long version, int ruleCount, String rules) {
+            this.version = version;
+            this.ruleCount = ruleCount;
+            this.rules = rules;
+        }
+    }
+
+    public static class OccupancyResponse {
+        public final Long hotelId;
+        public final int activeRooms;
+        public final int occupancyPercent;
+        public final int occupancyTier;
+
+        public OccupancyResponse(Long hotelId, int activeRooms, int occupancyPercent, int occupancyTier) {
+            this.hotelId = hotelId;
+            this.activeRooms = activeRooms;
+            this.occupancyPercent = occupancyPercent;
+            this.occupancyTier = occupancyTier;
+        }
+    }
+}
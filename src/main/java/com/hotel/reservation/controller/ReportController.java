@@ -0,0 +1,71 @@
+package com.hotel.reservation.controller;
+
+import com.hotel.reservation.model.Hotel;
+import com.hotel.reservation.service.HotelService;
+import com.hotel.reservation.service.RevenueAnalytics;
+import com.hotel.reservation.service.RevenueReportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "http://localhost:3000")
+public class ReportController {
+
+    private final RevenueAnalytics revenueAnalytics;
+    private final HotelService hotelService;
+
+    /**
+     * Occupancy, ADR and RevPAR per hotel and day or month, for one hotel or
+     * every active hotel (Admin only)
+     */
+    @GetMapping("/revenue")
+    public ResponseEntity<RevenueReportResponse> getRevenueReport(
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String period) {
+        try {
+            RevenueAnalytics.Period granularity = RevenueAnalytics.Period.valueOf(period.toUpperCase(Locale.ROOT));
+            List<Long> hotelIds = new ArrayList<>();
+            if (hotelId != null) {
+                hotelIds.add(hotelId);
+            } else {
+                for (Hotel hotel : hotelService.getAllActiveHotels()) {
+                    hotelIds.add(hotel.getId());
+                }
+            }
+            List<RevenueReportRow> rows = revenueAnalytics.report(hotelIds, from, to, granularity);
+            return ResponseEntity.ok(new RevenueReportResponse(revenueAnalytics.isWarm(), rows));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Rebuild the revenue aggregates from the reservations table (Admin only)
+     */
+    @PostMapping("/revenue/rebuild")
+    public ResponseEntity<Void> rebuildRevenue() {
+        revenueAnalytics.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+
+    public static class RevenueReportResponse {
+        public final boolean ready;
+        public final List<RevenueReportRow> rows;
+
+        public RevenueReportResponse(boolean ready, List<RevenueReportRow> rows) {
+            this.ready = ready;
+            this.rows = rows;
+        }
+    }
+}
@@ -2,7 +2,9 @@ package com.hotel.reservation.controller;
 
 import com.hotel.reservation.model.Reservation;
 import com.hotel.reservation.model.Payment;
+import com.hotel.reservation.service.PageCursor;
 import com.hotel.reservation.service.ReservationService;
+import com.hotel.reservation.service.RoomLockManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -21,6 +23,7 @@ import java.util.List;
 public class ReservationController {
 
     private final ReservationService reservationService;
+    private final RoomLockManager roomLockManager;
 
     /**
      * Create a new reservation
@@ -91,10 +94,21 @@ public class ReservationController {
     }
 
     /**
-     * Get user's reservations
+     * Get user's reservations, or one keyset page of them when cursor or limit is given
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Reservation>> getUserReservations(@PathVariable Long userId) {
+    public ResponseEntity<List<Reservation>> getUserReservations(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (CursorPages.requested(cursor, limit)) {
+            try {
+                return CursorPages.ok(reservationService.getUserReservationsPage(userId, cursor,
+                        PageCursor.limit(limit)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
         List<Reservation> reservations = reservationService.getUserReservations(userId);
         return ResponseEntity.ok(reservations);
     }
@@ -146,12 +160,23 @@ public class ReservationController {
     }
 
     /**
-     * Get reservations by date range (Admin only)
+     * Get reservations by date range (Admin only), or one keyset page of them
+     * when cursor or limit is given
      */
     @GetMapping("/date-range")
     public ResponseEntity<List<Reservation>> getReservationsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (CursorPages.requested(cursor, limit)) {
+            try {
+                return CursorPages.ok(reservationService.getReservationsByDateRangePage(startDate, endDate,
+                        cursor, PageCursor.limit(limit)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
         
         List<Reservation> reservations = reservationService.getReservationsByDateRange(startDate, endDate);
         return ResponseEntity.ok(reservations);
@@ -169,6 +194,19 @@ public class ReservationController {
         return ResponseEntity.ok(new ReservationStatsResponse(totalReservations, activeReservations, totalRevenue));
     }
 
+    /**
+     * Get booking lock contention statistics (Admin only)
+     */
+    @GetMapping("/stats/locks")
+    public ResponseEntity<LockStatsResponse> getLockStats() {
+        return ResponseEntity.ok(new LockStatsResponse(
+                roomLockManager.getStripeCount(),
+                roomLockManager.getAcquisitions(),
+                roomLockManager.getContendedAcquisitions(),
+                roomLockManager.getTimeouts(),
+                roomLockManager.getTotalWaitMillis()));
+    }
+
     // Request DTOs
     public static class CreateReservationRequest {
         public Long userId;
@@ -235,4 +273,21 @@ public class ReservationController {
             this.totalRevenue = totalRevenue;
         }
     }
+
+    public static class LockStatsResponse {
+        public final int stripes;
+        public final long acquisitions;
+        public final long contendedAcquisitions;
+        public final long timeouts;
+        public final long totalWaitMillis;
+
+        public LockStatsResponse(int stripes, long acquisitions, long contendedAcquisitions,
+                                 long timeouts, long totalWaitMillis) {
+            this.stripes = stripes;
+            this.acquisitions = acquisitions;
+            this.contendedAcquisitions = contendedAcquisitions;
+            this.timeouts = timeouts;
+            this.totalWaitMillis = totalWaitMillis;
+        }
+    }
 }
\ No newline at end of file
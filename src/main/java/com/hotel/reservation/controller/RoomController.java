@@ -1,9 +1,18 @@
 package com.hotel.reservation.controller;
 
 import com.hotel.reservation.model.Room;
+import com.hotel.reservation.service.CatalogCache;
+import com.hotel.reservation.service.NearbyRoom;
+import com.hotel.reservation.service.PageCursor;
+import com.hotel.reservation.service.QuoteCache;
+import com.hotel.reservation.service.RoomFacets;
+import com.hotel.reservation.service.RoomOffer;
+import com.hotel.reservation.service.RoomQuote;
+import com.hotel.reservation.service.RoomSearchResult;
 import com.hotel.reservation.service.RoomService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -11,7 +20,9 @@ import org.springframework.web.bind.annotation.*;
 import jakarta.validation.Valid;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/rooms")
@@ -19,7 +30,13 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:3000")
 public class RoomController {
 
+    private static final int MAX_QUOTE_ROOMS = 200;
+    private static final double MAX_RADIUS_KM = 500;
+    private static final int MAX_OFFERS = 100;
+
     private final RoomService roomService;
+    private final QuoteCache quoteCache;
+    private final CatalogCache catalogCache;
 
     /**
      * Simple test endpoint
@@ -30,12 +47,27 @@ public class RoomController {
     }
 
     /**
-     * Get all active rooms
+     * Get all active rooms, or one keyset page of them when cursor or limit is
+     * given. The full list carries the catalog ETag and honours If-None-Match.
      */
     @GetMapping
-    public ResponseEntity<List<Room>> getAllRooms() {
+    public ResponseEntity<List<Room>> getAllRooms(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (CursorPages.requested(cursor, limit)) {
+            try {
+                return CursorPages.ok(roomService.getActiveRoomsPage(cursor, PageCursor.limit(limit)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        String etag = catalogCache.etag();
+        if (ConditionalGets.notModified(ifNoneMatch, etag)) {
+            return ConditionalGets.notModifiedResponse(etag);
+        }
         List<Room> rooms = roomService.getAllActiveRooms();
-        return ResponseEntity.ok(rooms);
+        return ConditionalGets.ok(etag, rooms);
     }
 
     /**
@@ -49,16 +81,33 @@ public class RoomController {
     }
 
     /**
-     * Get rooms by hotel ID
+     * Get rooms by hotel ID, or one keyset page of them when cursor or limit is
+     * given. The full list carries the catalog ETag and honours If-None-Match.
      */
     @GetMapping("/hotel/{hotelId}")
-    public ResponseEntity<List<Room>> getRoomsByHotel(@PathVariable Long hotelId) {
+    public ResponseEntity<List<Room>> getRoomsByHotel(
+            @PathVariable Long hotelId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (CursorPages.requested(cursor, limit)) {
+            try {
+                return CursorPages.ok(roomService.getRoomsByHotelIdPage(hotelId, cursor, PageCursor.limit(limit)));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        String etag = catalogCache.etag();
+        if (ConditionalGets.notModified(ifNoneMatch, etag)) {
+            return ConditionalGets.notModifiedResponse(etag);
+        }
         List<Room> rooms = roomService.getRoomsByHotelId(hotelId);
-        return ResponseEntity.ok(rooms);
+        return ConditionalGets.ok(etag, rooms);
     }
 
     /**
-     * Search available rooms
+     * Search available rooms, optionally keeping only the best limit rooms by
+     * sort (price, rating or capacity)
      */
     @GetMapping("/search")
     public ResponseEntity<List<Room>> searchAvailableRooms(
@@ -66,16 +115,132 @@ public class RoomController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
             @RequestParam(required = false) Integer capacity,
             @RequestParam(required = false) String category,
-            @RequestParam(required = false) Long hotelId) {
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam(required = false) String amenities,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Integer limit) {
         
-        if (checkIn == null || checkOut == null) {
+        if (checkIn == null || checkOut == null || (limit != null && limit <= 0)) {
             return ResponseEntity.badRequest().build();
         }
         
+        RoomService.RoomSort order = null;
+        if (sort != null) {
+            try {
+                order = RoomService.RoomSort.valueOf(sort.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        
+        List<Room> rooms = roomService.findAvailableRoomsSorted(
+                checkIn, checkOut, capacity, category, hotelId, amenities, order, limit);
+        
+        return ResponseEntity.ok(rooms);
+    }
+
+    /**
+     * Search available rooms and return facet counts for the filter chips in the same response
+     */
+    @GetMapping("/search/faceted")
+    public ResponseEntity<FacetedSearchResponse> searchAvailableRoomsWithFacets(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) Integer capacity,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice) {
+        
+        if (checkOut.isBefore(checkIn)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        RoomSearchResult result = roomService.searchWithFacets(
+                checkIn, checkOut, capacity, category, hotelId, minPrice, maxPrice);
+        return ResponseEntity.ok(new FacetedSearchResponse(result.rooms().size(), result.rooms(), result.facets()));
+    }
+
+    /**
+     * Bookable rooms across hotels for a stay with hotel details and total
+     * price, cheapest first, in a single call
+     */
+    @GetMapping("/search/offers")
+    public ResponseEntity<List<RoomOffer>> searchOffers(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Long hotelId,
+            @RequestParam(required = false) Integer capacity,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minRating,
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        if (!checkOut.isAfter(checkIn) || limit <= 0 || limit > MAX_OFFERS) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        return ResponseEntity.ok(roomService.searchOffers(
+                checkIn, checkOut, location, hotelId, capacity, category, minRating, limit));
+    }
+
+    /**
+     * Search available rooms in hotels near a point, nearest hotel first
+     */
+    @GetMapping("/search/nearby")
+    public ResponseEntity<List<NearbyRoom>> searchAvailableRoomsNearby(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam double radiusKm,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) Integer capacity,
+            @RequestParam(required = false) String category) {
+        
+        if (lat < -90 || lat > 90 || lng < -180 || lng > 180
+                || radiusKm <= 0 || radiusKm > MAX_RADIUS_KM || checkOut.isBefore(checkIn)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        return ResponseEntity.ok(roomService.findAvailableRoomsNear(
+                lat, lng, radiusKm, checkIn, checkOut, capacity, category));
+    }
+
+    /**
+     * Search available rooms with each room's quote for the stay inline
+     */
+    @GetMapping("/search/quoted")
+    public ResponseEntity<List<QuotedRoomResponse>> searchAvailableRoomsWithQuotes(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut,
+            @RequestParam(required = false) Integer capacity,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Long hotelId) {
+        
         List<Room> rooms = roomService.findAvailableRoomsWithFilters(
                 checkIn, checkOut, capacity, category, hotelId);
         
-        return ResponseEntity.ok(rooms);
+        List<QuotedRoomResponse> results = new ArrayList<>(rooms.size());
+        for (Room room : rooms) {
+            results.add(new QuotedRoomResponse(room, roomService.quote(room, checkIn, checkOut)));
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * Quote many rooms for one stay in a single call
+     */
+    @GetMapping("/quotes")
+    public ResponseEntity<List<RoomQuote>> quoteRooms(
+            @RequestParam List<Long> ids,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkIn,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOut) {
+        
+        if (ids.isEmpty() || ids.size() > MAX_QUOTE_ROOMS || checkOut.isBefore(checkIn)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        return ResponseEntity.ok(roomService.quoteRooms(ids, checkIn, checkOut));
     }
 
     /**
@@ -119,14 +284,13 @@ public class RoomController {
         
         return roomService.getRoomById(id)
                 .map(room -> {
-                    BigDecimal totalPrice = roomService.calculateDynamicPrice(room, checkIn, checkOut);
-                    BigDecimal totalCost = roomService.calculateTotalCost(room, checkIn, checkOut);
+                    RoomQuote quote = roomService.quote(room, checkIn, checkOut);
                     
                     PricingResponse response = new PricingResponse(
-                            room.getBasePrice(),
-                            totalPrice,
-                            totalCost,
-                            totalCost.subtract(totalPrice), // taxes and fees
+                            quote.basePrice().toBigDecimal(),
+                            quote.totalRoomPrice().toBigDecimal(),
+                            quote.totalCost().toBigDecimal(),
+                            quote.taxesAndFees().toBigDecimal(),
                             checkIn,
                             checkOut
                     );
@@ -190,6 +354,20 @@ public class RoomController {
         return ResponseEntity.ok(new RoomStatsResponse(totalRooms));
     }
 
+    /**
+     * Get quote cache statistics (Admin only)
+     */
+    @GetMapping("/stats/quote-cache")
+    public ResponseEntity<QuoteCacheStatsResponse> getQuoteCacheStats() {
+        return ResponseEntity.ok(new QuoteCacheStatsResponse(
+                quoteCache.getMaxEntries(),
+                quoteCache.getSize(),
+                quoteCache.getHits(),
+                quoteCache.getMisses(),
+                quoteCache.getStaleMisses(),
+                quoteCache.getEvictions()));
+    }
+
     // Response DTOs
     public static class PricingResponse {
         public final BigDecimal basePrice;
@@ -211,6 +389,16 @@ public class RoomController {
         }
     }
 
+    public static class QuotedRoomResponse {
+        public final Room room;
+        public final RoomQuote quote;
+
+        public QuotedRoomResponse(Room room, RoomQuote quote) {
+            this.room = room;
+            this.quote = quote;
+        }
+    }
+
     public static class AvailabilityResponse {
         public final boolean available;
 
@@ -226,4 +414,35 @@ public class RoomController {
             this.totalActiveRooms = totalActiveRooms;
         }
     }
+
+    public static class FacetedSearchResponse {
+        public final int total;
+        public final List<Room> rooms;
+        public final RoomFacets facets;
+
+        public FacetedSearchResponse(int total, List<Room> rooms, RoomFacets facets) {
+            this.total = total;
+            this.rooms = rooms;
+            this.facets = facets;
+        }
+    }
+
+    public static class QuoteCacheStatsResponse {
+        public final int maxEntries;
+        public final long size;
+        public final long hits;
+        public final long misses;
+        public final long staleMisses;
+        public final long evictions;
+
+        public QuoteCacheStatsResponse(int maxEntries, long size, long hits, long misses,
+                                       long staleMisses, long evictions) {
+            this.maxEntries = maxEntries;
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.staleMisses = staleMisses;
+            this.evictions = evictions;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.hotel.reservation.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An interned amenity name and the bit it occupies in hotel and room
+ * amenity masks. Bits are never reused, so stored masks stay valid.
+ */
+@Entity
+@Table(name = "amenity_dictionary",
+        uniqueConstraints = @UniqueConstraint(name = "uk_amenity_dictionary_name", columnNames = "name"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AmenityBit {
+
+    @Id
+    private Integer bit;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+}
@@ -6,15 +6,19 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "hotels")
 @Table(name = "hotels")
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Hotel {
@@ -43,9 +47,22 @@ public class Hotel {
     @Builder.Default
     private Double rating = 4.0;
 
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
     @Column(name = "amenities", columnDefinition = "TEXT")
     private String amenities; // Comma-separated values for H2 compatibility
 
+    // Bit per interned amenity (see AmenityDictionary), kept in step with amenities
+    @JsonIgnore
+    @Column(name = "amenity_mask")
+    private Long amenityMask;
+
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
@@ -62,9 +79,9 @@ public class Hotel {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    // Relationships
+    // Relationships; rooms are listed through /api/rooms/hotel/{id}, not embedded
     @OneToMany(mappedBy = "hotel", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @JsonManagedReference
+    @JsonIgnore
     private List<Room> rooms;
 
     @PrePersist
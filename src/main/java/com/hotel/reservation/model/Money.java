@@ -0,0 +1,88 @@
+package com.hotel.reservation.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Amount of money in minor units (cents/paise), held in a long.
+ *
+ * Used on the pricing, quote and payment-amount paths so they do not allocate
+ * a BigDecimal per step. Rounding follows the BigDecimal code it replaces:
+ * HALF_UP to scale 2. Entities keep BigDecimal columns; convert with
+ * of/toBigDecimal at the JPA boundary. JSON reads and writes plain decimals.
+ */
+public record Money(long minor) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    private static final int SCALE = 2;
+
+    public static Money ofMinor(long minor) {
+        return new Money(minor);
+    }
+
+    /**
+     * Convert a decimal amount, rounding HALF_UP to cents
+     */
+    @JsonCreator
+    public static Money of(BigDecimal amount) {
+        return new Money(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    @JsonValue
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minor, other.minor));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minor, other.minor));
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minor));
+    }
+
+    /**
+     * Multiply by numerator/denominator, rounding HALF_UP (away from zero on a tie)
+     */
+    public Money times(long numerator, long denominator) {
+        if (denominator <= 0) {
+            throw new IllegalArgumentException("Denominator must be positive");
+        }
+        long product = Math.multiplyExact(minor, numerator);
+        long quotient = product / denominator;
+        long remainder = Math.abs(product % denominator);
+        if (remainder * 2 >= denominator) {
+            quotient += Long.signum(product);
+        }
+        return new Money(quotient);
+    }
+
+    /**
+     * Amount in minor units as an int, e.g. paise for a payment gateway
+     */
+    public int toMinorIntExact() {
+        return Math.toIntExact(minor);
+    }
+
+    public boolean isNegative() {
+        return minor < 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minor, other.minor);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -7,6 +7,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import java.math.BigDecimal;
@@ -15,7 +16,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "reservations")
+@Table(name = "reservations",
+        indexes = {
+                @Index(name = "idx_reservations_user_created", columnList = "user_id, created_at, id"),
+                @Index(name = "idx_reservations_check_in", columnList = "check_in_date, id"),
+                @Index(name = "idx_reservations_room_dates", columnList = "room_id, check_in_date, check_out_date")
+        })
 @Data
 @Builder
 @NoArgsConstructor
@@ -48,6 +54,10 @@ public class Reservation {
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
     private BigDecimal totalAmount;
 
+    // Room price for the stay before taxes and fees; null on rows booked before it was stored
+    @Column(name = "room_amount", precision = 10, scale = 2)
+    private BigDecimal roomAmount;
+
     @NotBlank(message = "Status is required")
     @Builder.Default
     @Column(nullable = false)
@@ -85,6 +95,10 @@ public class Reservation {
     @Column(name = "cancelled_at")
     private LocalDateTime cancelledAt;
 
+    // Deadline for paying a PENDING reservation before its inventory is released
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     // Relationships
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
@@ -93,7 +107,7 @@ public class Reservation {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "room_id", nullable = false)
-    @JsonBackReference
+    @JsonIgnore
     private Room room;
 
     @OneToMany(mappedBy = "reservation", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
@@ -6,17 +6,21 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import com.fasterxml.jackson.annotation.JsonBackReference;
-import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "rooms")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "rooms")
+@Table(name = "rooms",
+        indexes = @Index(name = "idx_rooms_hotel", columnList = "hotel_id, id"))
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Room {
@@ -49,6 +53,11 @@ public class Room {
     @Column(name = "amenities", columnDefinition = "TEXT")
     private String amenities; // Comma-separated values for H2 compatibility
 
+    // Bit per interned amenity (see AmenityDictionary), kept in step with amenities
+    @JsonIgnore
+    @Column(name = "amenity_mask")
+    private Long amenityMask;
+
     @Column(name = "image_url")
     private String imageUrl;
 
@@ -65,11 +74,12 @@ public class Room {
     // Relationships
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hotel_id", nullable = false)
-    @JsonBackReference
+    @JsonIgnore
     private Hotel hotel;
 
+    // Never embedded: room listings are public and served from the catalog snapshot
     @OneToMany(mappedBy = "room", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
-    @JsonManagedReference
+    @JsonIgnore
     private List<Reservation> reservations;
 
     @PrePersist
@@ -0,0 +1,37 @@
+package com.hotel.reservation.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One sold night of one room. The unique (room_id, night) constraint makes the
+ * database reject a second reservation for the same night, whatever the timing.
+ */
+@Entity
+@Table(name = "room_nights",
+        uniqueConstraints = @UniqueConstraint(name = "uk_room_nights_room_night", columnNames = {"room_id", "night"}),
+        indexes = @Index(name = "idx_room_nights_reservation", columnList = "reservation_id"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoomNight {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false)
+    private Long roomId;
+
+    @Column(nullable = false)
+    private LocalDate night;
+
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+}
@@ -0,0 +1,15 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.model.AmenityBit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+public interface AmenityBitRepository extends JpaRepository<AmenityBit, Integer> {
+
+    Optional<AmenityBit> findByName(String name);
+
+    @Query("SELECT MAX(a.bit) FROM AmenityBit a")
+    Optional<Integer> findMaxBit();
+}
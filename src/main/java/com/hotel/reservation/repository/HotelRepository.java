@@ -1,7 +1,9 @@
 package com.hotel.reservation.repository;
 
 import com.hotel.reservation.model.Hotel;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -14,7 +16,16 @@ public interface HotelRepository extends JpaRepository<Hotel, Long> {
     
     List<Hotel> findByIsActiveTrue();
     
-    Optional<Hotel> findByIdAndIsActiveTrue(Long id);
+    long countByIsActiveTrue();
+    
+    // Keyset page of active hotels after the given id
+    @Query("SELECT h FROM Hotel h WHERE h.isActive = true AND h.id > :afterId ORDER BY h.id")
+    List<Hotel> findActivePage(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Primary-key load rather than a query, so repeat lookups hit the second-level cache
+    default Optional<Hotel> findByIdAndIsActiveTrue(Long id) {
+        return findById(id).filter(hotel -> Boolean.TRUE.equals(hotel.getIsActive()));
+    }
     
     List<Hotel> findByNameContainingIgnoreCaseAndIsActiveTrue(String name);
     
@@ -28,4 +39,29 @@ public interface HotelRepository extends JpaRepository<Hotel, Long> {
     
     @Query("SELECT h FROM Hotel h WHERE h.isActive = true ORDER BY h.rating DESC")
     List<Hotel> findTopRatedHotels();
+    
+    /**
+     * (id, name, address, rating) of active hotels, for the search indexes
+     */
+    @Query("SELECT h.id, h.name, h.address, h.rating FROM Hotel h WHERE h.isActive = true")
+    List<Object[]> findSearchRows();
+    
+    /**
+     * (id, latitude, longitude) of active hotels with coordinates, for the geo index
+     */
+    @Query("SELECT h.id, h.latitude, h.longitude FROM Hotel h " +
+           "WHERE h.isActive = true AND h.latitude IS NOT NULL AND h.longitude IS NOT NULL")
+    List<Object[]> findGeoRows();
+    
+    // (id, updatedAt) of active rows, for checking the catalog snapshot
+    @Query("SELECT h.id, h.updatedAt FROM Hotel h WHERE h.isActive = true")
+    List<Object[]> findActiveVersionRows();
+    
+    // (id, amenities) of rows stored before amenity masks existed
+    @Query("SELECT h.id, h.amenities FROM Hotel h WHERE h.amenityMask IS NULL AND h.amenities IS NOT NULL")
+    List<Object[]> findAmenitiesWithoutMask();
+    
+    @Modifying
+    @Query("UPDATE Hotel h SET h.amenityMask = :mask WHERE h.id = :id")
+    int updateAmenityMask(@Param("id") Long id, @Param("mask") long mask);
 }
@@ -0,0 +1,42 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+    
+    Optional<IdempotencyRecord> findByCallerAndIdempotencyKeyAndRequestPath(String caller, String idempotencyKey,
+                                                                          String requestPath);
+    
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.responseStatus = :status, r.responseBody = :body, r.completedAt = :now " +
+           "WHERE r.caller = :caller AND r.idempotencyKey = :key AND r.requestPath = :path")
+    int complete(@Param("caller") String caller, @Param("key") String key, @Param("path") String path,
+                 @Param("status") Integer status, @Param("body") String body, @Param("now") LocalDateTime now);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.caller = :caller AND r.idempotencyKey = :key " +
+           "AND r.requestPath = :path AND r.responseStatus IS NULL")
+    int deleteInProgress(@Param("caller") String caller, @Param("key") String key, @Param("path") String path);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.caller = :caller AND r.idempotencyKey = :key " +
+           "AND r.requestPath = :path AND r.responseStatus IS NULL AND r.createdAt < :cutoff")
+    int deleteStaleInProgress(@Param("caller") String caller, @Param("key") String key, @Param("path") String path,
+                              @Param("cutoff") LocalDateTime cutoff);
+    
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -3,10 +3,34 @@ package com.hotel.reservation.repository;
 import com.hotel.reservation.model.Payment;
 import com.hotel.reservation.model.PaymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     Optional<Payment> findByReservationIdAndStatus(Long reservationId, PaymentStatus status);
+    
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = :to, p.updatedAt = :now " +
+           "WHERE p.reservation.id IN :reservationIds AND p.status = :from")
+    int updateStatusForReservations(@Param("reservationIds") List<Long> reservationIds,
+                                    @Param("from") PaymentStatus from,
+                                    @Param("to") PaymentStatus to,
+                                    @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Payment p SET p.status = :to, p.updatedAt = :now WHERE p.id = :id AND p.status = :from")
+    int updateStatus(@Param("id") Long id,
+                     @Param("from") PaymentStatus from,
+                     @Param("to") PaymentStatus to,
+                     @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Payment p SET p.transactionId = :transactionId WHERE p.id = :id")
+    int updateTransactionId(@Param("id") Long id, @Param("transactionId") String transactionId);
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package com.hotel.reservation.repository;
 
 import com.hotel.reservation.model.Reservation;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,12 +19,78 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     
     List<Reservation> findByUserIdOrderByCreatedAtDesc(Long userId);
     
+    // Keyset pages of a user's reservations, newest first
+    @Query("SELECT r FROM Reservation r WHERE r.user.id = :userId ORDER BY r.createdAt DESC, r.id DESC")
+    List<Reservation> findUserFirstPage(@Param("userId") Long userId, Pageable pageable);
+    
+    @Query("SELECT r FROM Reservation r WHERE r.user.id = :userId AND " +
+           "(r.createdAt < :createdAt OR (r.createdAt = :createdAt AND r.id < :id)) " +
+           "ORDER BY r.createdAt DESC, r.id DESC")
+    List<Reservation> findUserPageBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id, Pageable pageable);
+    
     Optional<Reservation> findByConfirmationNumber(String confirmationNumber);
     
+    @Query("SELECT r.room.id FROM Reservation r WHERE r.id = :id")
+    Optional<Long> findRoomIdById(@Param("id") Long id);
+    
     List<Reservation> findByCheckInDateBetween(LocalDate startDate, LocalDate endDate);
     
+    // Keyset page of reservations checking in within [startDate, endDate], after (checkIn, id)
+    @Query("SELECT r FROM Reservation r WHERE r.checkInDate BETWEEN :startDate AND :endDate AND " +
+           "(r.checkInDate > :checkIn OR (r.checkInDate = :checkIn AND r.id > :id)) " +
+           "ORDER BY r.checkInDate, r.id")
+    List<Reservation> findCheckInPageAfter(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate,
+                                           @Param("checkIn") LocalDate checkIn, @Param("id") Long id,
+                                           Pageable pageable);
+    
     long countByStatusIn(List<String> statuses);
     
     @Query("SELECT SUM(r.totalAmount) FROM Reservation r WHERE r.status = :status")
     Optional<BigDecimal> sumTotalAmountByStatus(@Param("status") String status);
+    
+    // Reservations per status as (status, count, sum of totalAmount)
+    @Query("SELECT r.status, COUNT(r), SUM(r.totalAmount) FROM Reservation r GROUP BY r.status")
+    List<Object[]> findStatusTotals();
+    
+    // Stays in the given statuses ending on or after a date, as
+    // (id, hotelId, checkIn, checkOut, status, actualCheckOut, roomAmount, totalAmount)
+    @Query("SELECT r.id, r.room.hotel.id, r.checkInDate, r.checkOutDate, r.status, r.actualCheckOut, " +
+           "r.roomAmount, r.totalAmount FROM Reservation r " +
+           "WHERE r.status IN :statuses AND r.checkOutDate >= :since")
+    List<Object[]> findSoldStayRows(@Param("statuses") List<String> statuses, @Param("since") LocalDate since);
+    
+    // Stays that still occupy a room, as (id, roomId, checkIn, checkOut, status, actualCheckOut)
+    @Query("SELECT r.id, r.room.id, r.checkInDate, r.checkOutDate, r.status, r.actualCheckOut " +
+           "FROM Reservation r WHERE UPPER(r.status) NOT IN ('CANCELLED', 'EXPIRED')")
+    List<Object[]> findActiveStayRows();
+    
+    // Open inventory holds as (id, holdExpiresAt)
+    @Query("SELECT r.id, r.holdExpiresAt FROM Reservation r WHERE r.status = 'PENDING' AND r.holdExpiresAt IS NOT NULL")
+    List<Object[]> findOpenHolds();
+    
+    @Modifying
+    @Query("UPDATE Reservation r SET r.holdExpiresAt = :deadline WHERE r.status = 'PENDING' AND r.holdExpiresAt IS NULL")
+    int assignMissingHoldDeadlines(@Param("deadline") LocalDateTime deadline);
+    
+    // Push a live hold's deadline out to at least :deadline; never revives an expired one
+    @Modifying
+    @Query("UPDATE Reservation r SET r.updatedAt = :now, r.holdExpiresAt = " +
+           "CASE WHEN r.holdExpiresAt < :deadline THEN :deadline ELSE r.holdExpiresAt END " +
+           "WHERE r.id = :id AND r.status = 'PENDING' AND r.holdExpiresAt > :now")
+    int extendHold(@Param("id") Long id, @Param("deadline") LocalDateTime deadline, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = 'CONFIRMED', r.updatedAt = :now " +
+           "WHERE r.id = :id AND r.status = 'PENDING' AND r.holdExpiresAt > :now")
+    int confirmHold(@Param("id") Long id, @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Reservation r SET r.status = 'EXPIRED', r.cancelledAt = :now, r.updatedAt = :now " +
+           "WHERE r.id IN :ids AND r.status = 'PENDING' AND r.holdExpiresAt <= :now")
+    int expireHolds(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+    
+    // Reservations expired by the expireHolds call stamped with :now, as (id, roomId)
+    @Query("SELECT r.id, r.room.id FROM Reservation r WHERE r.id IN :ids AND r.status = 'EXPIRED' AND r.cancelledAt = :now")
+    List<Object[]> findExpiredStays(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
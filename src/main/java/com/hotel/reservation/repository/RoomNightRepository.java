@@ -0,0 +1,33 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.model.RoomNight;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface RoomNightRepository extends JpaRepository<RoomNight, Long> {
+    
+    boolean existsByRoomIdAndNight(Long roomId, LocalDate night);
+    
+    @Modifying
+    @Query("DELETE FROM RoomNight n WHERE n.reservationId = :reservationId")
+    int deleteByReservationId(@Param("reservationId") Long reservationId);
+    
+    @Modifying
+    @Query("DELETE FROM RoomNight n WHERE n.reservationId IN :reservationIds")
+    int deleteByReservationIdIn(@Param("reservationIds") List<Long> reservationIds);
+    
+    @Modifying
+    @Query("DELETE FROM RoomNight n WHERE n.reservationId = :reservationId AND n.night >= :from")
+    int deleteByReservationIdFrom(@Param("reservationId") Long reservationId, @Param("from") LocalDate from);
+    
+    // Reservations still occupying future nights that predate the room_nights table
+    @Query("SELECT r.id, r.room.id, r.checkInDate, r.checkOutDate FROM Reservation r " +
+           "WHERE UPPER(r.status) NOT IN ('CANCELLED', 'EXPIRED') AND r.checkOutDate > :today AND NOT EXISTS " +
+           "(SELECT n.id FROM RoomNight n WHERE n.reservationId = r.id)")
+    List<Object[]> findStaysWithoutNights(@Param("today") LocalDate today);
+}
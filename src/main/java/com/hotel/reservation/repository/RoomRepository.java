@@ -1,7 +1,9 @@
 package com.hotel.reservation.repository;
 
 import com.hotel.reservation.model.Room;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,10 +18,22 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     
     List<Room> findByIsActiveTrue();
     
-    Optional<Room> findByIdAndIsActiveTrue(Long id);
+    long countByIsActiveTrue();
+    
+    // Primary-key load rather than a query, so repeat lookups hit the second-level cache
+    default Optional<Room> findByIdAndIsActiveTrue(Long id) {
+        return findById(id).filter(room -> Boolean.TRUE.equals(room.getIsActive()));
+    }
     
     List<Room> findByHotelIdAndIsActiveTrue(Long hotelId);
     
+    // Keyset pages of active rooms after the given id
+    @Query("SELECT r FROM Room r WHERE r.isActive = true AND r.id > :afterId ORDER BY r.id")
+    List<Room> findActivePage(@Param("afterId") Long afterId, Pageable pageable);
+    
+    @Query("SELECT r FROM Room r WHERE r.hotel.id = :hotelId AND r.isActive = true AND r.id > :afterId ORDER BY r.id")
+    List<Room> findActivePageByHotel(@Param("hotelId") Long hotelId, @Param("afterId") Long afterId, Pageable pageable);
+    
     List<Room> findByCategoryAndIsActiveTrue(String category);
     
     List<Room> findByCapacityGreaterThanEqualAndIsActiveTrue(Integer capacity);
@@ -30,9 +44,13 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
     @Query("SELECT r FROM Room r WHERE r.hotel.id = :hotelId AND r.category = :category AND r.capacity >= :capacity AND r.isActive = true")
     List<Room> findAvailableRooms(@Param("hotelId") Long hotelId, @Param("category") String category, @Param("capacity") Integer capacity);
     
+    // Room attributes needed by the in-memory availability index
+    @Query("SELECT r.id, r.hotel.id, r.capacity, r.category, r.isActive, r.basePrice, r.amenityMask FROM Room r")
+    List<Object[]> findAllIndexRows();
+    
     // Find rooms that are not booked for the given date range
     @Query("SELECT r FROM Room r WHERE r.isActive = true AND r.id NOT IN " +
-           "(SELECT res.room.id FROM Reservation res WHERE UPPER(res.status) != 'CANCELLED' AND " +
+           "(SELECT res.room.id FROM Reservation res WHERE UPPER(res.status) NOT IN ('CANCELLED', 'EXPIRED') AND " +
            "((res.checkInDate <= :checkOut AND res.checkOutDate >= :checkIn)))")
     List<Room> findAvailableRoomsForDateRange(@Param("checkIn") LocalDate checkIn, @Param("checkOut") LocalDate checkOut);
     
@@ -41,7 +59,7 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
            "(:capacity IS NULL OR r.capacity >= :capacity) AND " +
            "(:category IS NULL OR r.category = :category) AND " +
            "(:hotelId IS NULL OR r.hotel.id = :hotelId) AND " +
-           "r.id NOT IN (SELECT res.room.id FROM Reservation res WHERE UPPER(res.status) != 'CANCELLED' AND " +
+           "r.id NOT IN (SELECT res.room.id FROM Reservation res WHERE UPPER(res.status) NOT IN ('CANCELLED', 'EXPIRED') AND " +
            "((res.checkInDate <= :checkOut AND res.checkOutDate >= :checkIn)))")
     List<Room> findAvailableRoomsWithFilters(
         @Param("checkIn") LocalDate checkIn, 
@@ -50,4 +68,38 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
         @Param("category") String category,
         @Param("hotelId") Long hotelId
     );
-}
\ No newline at end of file
+    
+    // Flat offer rows for a stay as (hotelId, hotelName, rating, roomId, roomNumber, category, capacity, basePrice):
+    // one join, nothing hydrated; same closed-interval overlap test as findAvailableRoomsForDateRange
+    @Query("SELECT h.id, h.name, h.rating, r.id, r.roomNumber, r.category, r.capacity, r.basePrice " +
+           "FROM Room r JOIN r.hotel h WHERE r.isActive = true AND h.isActive = true AND " +
+           "(:hotelId IS NULL OR h.id = :hotelId) AND " +
+           "(:capacity IS NULL OR r.capacity >= :capacity) AND " +
+           "(:category IS NULL OR r.category = :category) AND " +
+           "(:minRating IS NULL OR h.rating >= :minRating) AND " +
+           "(:location IS NULL OR LOWER(h.address) LIKE LOWER(CONCAT('%', :location, '%'))) AND " +
+           "NOT EXISTS (SELECT res.id FROM Reservation res WHERE res.room = r AND " +
+           "UPPER(res.status) NOT IN ('CANCELLED', 'EXPIRED') AND " +
+           "res.checkInDate <= :checkOut AND res.checkOutDate >= :checkIn)")
+    List<Object[]> findOfferRows(
+        @Param("checkIn") LocalDate checkIn,
+        @Param("checkOut") LocalDate checkOut,
+        @Param("location") String location,
+        @Param("hotelId") Long hotelId,
+        @Param("capacity") Integer capacity,
+        @Param("category") String category,
+        @Param("minRating") Double minRating
+    );
+    
+    // (id, updatedAt) of active rows, for checking the catalog snapshot
+    @Query("SELECT r.id, r.updatedAt FROM Room r WHERE r.isActive = true")
+    List<Object[]> findActiveVersionRows();
+    
+    // (id, amenities) of rows stored before amenity masks existed
+    @Query("SELECT r.id, r.amenities FROM Room r WHERE r.amenityMask IS NULL AND r.amenities IS NOT NULL")
+    List<Object[]> findAmenitiesWithoutMask();
+    
+    @Modifying
+    @Query("UPDATE Room r SET r.amenityMask = :mask WHERE r.id = :id")
+    int updateAmenityMask(@Param("id") Long id, @Param("mask") long mask);
+}
@@ -1,6 +1,7 @@
 package com.hotel.reservation.repository;
 
 import com.hotel.reservation.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,10 +15,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     Optional<User> findByEmailAndIsActiveTrue(String email);
     
-    Optional<User> findByIdAndIsActiveTrue(Long id);
+    // Primary-key load rather than a query, so repeat lookups hit the second-level cache
+    default Optional<User> findByIdAndIsActiveTrue(Long id) {
+        return findById(id).filter(user -> Boolean.TRUE.equals(user.getIsActive()));
+    }
     
     List<User> findByIsActiveTrue();
     
+    // Keyset page of active users after the given id
+    @Query("SELECT u FROM User u WHERE u.isActive = true AND u.id > :afterId ORDER BY u.id")
+    List<User> findActivePage(@Param("afterId") Long afterId, Pageable pageable);
+    
     @Query("SELECT u FROM User u WHERE u.isActive = true AND " +
            "(LOWER(u.fullName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
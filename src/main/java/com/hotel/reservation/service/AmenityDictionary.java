@@ -0,0 +1,180 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.AmenityBit;
+import com.hotel.reservation.repository.AmenityBitRepository;
+import com.hotel.reservation.repository.HotelRepository;
+import com.hotel.reservation.repository.RoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns amenity names into bit positions so hotel and room amenities can be
+ * stored as a long mask next to the comma-separated text. Names compare
+ * trimmed and case-insensitively. The dictionary holds 64 names; amenities
+ * beyond that stay text-only and are matched by the text fallback.
+ *
+ * The amenity_dictionary table is the authority: new bits are allocated
+ * from it, so several instances can share it, and a name only enters the
+ * in-memory map once its row has committed.
+ */
+@Service
+@Slf4j
+public class AmenityDictionary {
+
+    private static final int CAPACITY = Long.SIZE;
+    private static final int ASSIGN_ATTEMPTS = 5;
+
+    private final AmenityBitRepository amenityBitRepository;
+    private final HotelRepository hotelRepository;
+    private final RoomRepository roomRepository;
+    private final TransactionTemplate newTransaction;
+
+    private final Map<String, Integer> bits = new ConcurrentHashMap<>();
+
+    public AmenityDictionary(AmenityBitRepository amenityBitRepository,
+                             HotelRepository hotelRepository,
+                             RoomRepository roomRepository,
+                             PlatformTransactionManager transactionManager) {
+        this.amenityBitRepository = amenityBitRepository;
+        this.hotelRepository = hotelRepository;
+        this.roomRepository = roomRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Load the dictionary and give hotels and rooms without a mask one.
+     * Runs before the in-memory indexes are built so they see the masks.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void load() {
+        for (AmenityBit amenity : amenityBitRepository.findAll()) {
+            bits.put(amenity.getName(), amenity.getBit());
+        }
+        int hotels = 0;
+        for (Object[] row : hotelRepository.findAmenitiesWithoutMask()) {
+            hotels += hotelRepository.updateAmenityMask((Long) row[0], intern((String) row[1]));
+        }
+        int rooms = 0;
+        for (Object[] row : roomRepository.findAmenitiesWithoutMask()) {
+            rooms += roomRepository.updateAmenityMask((Long) row[0], intern((String) row[1]));
+        }
+        log.info("Amenity dictionary loaded: {} amenities, backfilled {} hotels and {} rooms",
+                bits.size(), hotels, rooms);
+    }
+
+    /**
+     * Mask of a comma-separated amenity list, interning new names. New names
+     * are committed on their own so a rolled-back caller cannot orphan a bit.
+     */
+    public long maskOf(String amenities) {
+        return intern(amenities);
+    }
+
+    /**
+     * Filter for a comma-separated list of required amenities; never interns
+     */
+    public AmenityFilter filterFor(String required) {
+        Set<String> names = parse(required);
+        if (names.isEmpty()) {
+            return AmenityFilter.NONE;
+        }
+        long mask = 0;
+        boolean fullyIndexed = true;
+        for (String name : names) {
+            Integer bit = bits.get(name);
+            if (bit == null) {
+                fullyIndexed = false;
+            } else {
+                mask |= 1L << bit;
+            }
+        }
+        return new AmenityFilter(names, mask, fullyIndexed);
+    }
+
+    public static Set<String> parse(String amenities) {
+        Set<String> names = new LinkedHashSet<>();
+        if (amenities == null) {
+            return names;
+        }
+        for (String part : amenities.split(",")) {
+            String name = part.strip().toLowerCase(Locale.ROOT);
+            if (!name.isEmpty()) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    private long intern(String amenities) {
+        long mask = 0;
+        for (String name : parse(amenities)) {
+            Integer bit = bits.get(name);
+            if (bit == null) {
+                bit = assign(name);
+            }
+            if (bit != null) {
+                mask |= 1L << bit;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Bit of a name this process has not seen: the stored one if another
+     * instance interned it, otherwise max(bit) + 1 inserted in its own
+     * transaction. A concurrent insert of the same bit or name fails on the
+     * table's keys and is retried against the new state. Null once the
+     * dictionary is full.
+     */
+    private synchronized Integer assign(String name) {
+        Integer bit = bits.get(name);
+        if (bit != null || name.length() > 100) {
+            return bit;
+        }
+        for (int attempt = 0; attempt < ASSIGN_ATTEMPTS; attempt++) {
+            try {
+                bit = newTransaction.execute(status -> {
+                    Optional<AmenityBit> existing = amenityBitRepository.findByName(name);
+                    if (existing.isPresent()) {
+                        return existing.get().getBit();
+                    }
+                    int next = amenityBitRepository.findMaxBit().map(max -> max + 1).orElse(0);
+                    if (next >= CAPACITY) {
+                        return null;
+                    }
+                    amenityBitRepository.saveAndFlush(AmenityBit.builder().bit(next).name(name).build());
+                    return next;
+                });
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Amenity bit for '{}' taken concurrently, retrying", name);
+                continue;
+            }
+            // Committed (or found committed); only now visible to this process
+            if (bit != null) {
+                bits.put(name, bit);
+            }
+            return bit;
+        }
+        log.warn("Could not intern amenity '{}' after {} attempts; it stays text-only", name, ASSIGN_ATTEMPTS);
+        return null;
+    }
+}
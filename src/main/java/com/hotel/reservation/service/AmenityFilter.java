@@ -0,0 +1,34 @@
+package com.hotel.reservation.service;
+
+import java.util.Set;
+
+/**
+ * Required amenities of a search. When every name has a dictionary bit the
+ * filter is a single bitwise AND against the stored mask; otherwise, and for
+ * rows without a mask, it falls back to the comma-separated text.
+ */
+public record AmenityFilter(Set<String> names, long mask, boolean fullyIndexed) {
+
+    public static final AmenityFilter NONE = new AmenityFilter(Set.of(), 0, true);
+
+    public boolean isEmpty() {
+        return names.isEmpty();
+    }
+
+    public boolean matches(Long amenityMask, String amenities) {
+        if (names.isEmpty()) {
+            return true;
+        }
+        if (fullyIndexed && amenityMask != null) {
+            return (amenityMask & mask) == mask;
+        }
+        return AmenityDictionary.parse(amenities).containsAll(names);
+    }
+
+    /**
+     * Bitwise test for in-memory indexes; only valid when fullyIndexed
+     */
+    public boolean matchesMask(long amenityMask) {
+        return (amenityMask & mask) == mask;
+    }
+}
@@ -0,0 +1,238 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Hotel;
+import com.hotel.reservation.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Type-ahead suggestions for hotel names and cities from an in-memory prefix trie.
+ *
+ * Every word start of a hotel name and of a city is a key, so "pal" finds
+ * "Grand Palace". Each trie node carries the best suggestions of its subtree,
+ * ranked by rating (a city ranks by its best hotel), so a lookup walks the
+ * prefix and returns a precomputed list. The trie is immutable; hotel writes
+ * rebuild it and swap it in, leaving readers lock-free.
+ *
+ * Cities are taken from the address: comma-separated parts without digits
+ * and longer than two characters, e.g. "New York" in "123 Main Street, New York, NY".
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AutocompleteIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private static final Comparator<Suggestion> BY_RANK = Comparator
+            .comparingDouble(Suggestion::rating).reversed()
+            .thenComparingInt(suggestion -> suggestion.text().length())
+            .thenComparing(Suggestion::text)
+            .thenComparing(suggestion -> suggestion.hotelId() == null ? 0L : suggestion.hotelId());
+
+    public enum Type {
+        CITY, HOTEL
+    }
+
+    /**
+     * A suggestion; hotelId is null for cities
+     */
+    public record Suggestion(Type type, String text, Long hotelId, double rating) {
+    }
+
+    private final HotelRepository hotelRepository;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    private volatile Node root = Node.EMPTY;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        entries.clear();
+        for (Object[] row : hotelRepository.findSearchRows()) {
+            Double rating = (Double) row[3];
+            entries.put((Long) row[0], new Entry((Long) row[0], (String) row[1], (String) row[2],
+                    rating != null ? rating : 0.0));
+        }
+        refresh();
+        log.info("Autocomplete index built: {} hotels", entries.size());
+    }
+
+    /**
+     * Add, refresh or (for inactive hotels) drop a hotel, then swap in a new trie
+     */
+    public void index(Hotel hotel) {
+        if (Boolean.TRUE.equals(hotel.getIsActive())) {
+            entries.put(hotel.getId(), new Entry(hotel.getId(), hotel.getName(), hotel.getAddress(),
+                    hotel.getRating() != null ? hotel.getRating() : 0.0));
+        } else {
+            entries.remove(hotel.getId());
+        }
+        refresh();
+    }
+
+    /**
+     * Up to limit suggestions whose name or city has a word starting with the prefix
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+    }
+
+    private synchronized void refresh() {
+        Builder trie = new Builder();
+        Map<String, Suggestion> cities = new HashMap<>();
+        for (Entry entry : entries.values()) {
+            Suggestion hotel = new Suggestion(Type.HOTEL, entry.name(), entry.id(), entry.rating());
+            trie.addWords(entry.name(), hotel);
+            for (String city : cities(entry.address())) {
+                cities.merge(normalize(city), new Suggestion(Type.CITY, city, null, entry.rating()),
+                        (a, b) -> a.rating() >= b.rating() ? a : b);
+            }
+        }
+        for (Suggestion city : cities.values()) {
+            trie.addWords(city.text(), city);
+        }
+        root = trie.freeze();
+    }
+
+    static List<String> cities(String address) {
+        List<String> cities = new ArrayList<>();
+        if (address == null) {
+            return cities;
+        }
+        for (String part : address.split(",")) {
+            String city = part.strip();
+            if (city.length() > 2 && city.chars().noneMatch(Character::isDigit)) {
+                cities.add(city);
+            }
+        }
+        return cities;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private record Entry(Long id, String name, String address, double rating) {
+    }
+
+    /**
+     * Mutable trie used while building; frozen into compact nodes afterwards
+     */
+    private static final class Builder {
+
+        private final TreeMap<Character, Builder> children = new TreeMap<>();
+        private final List<Suggestion> own = new ArrayList<>(1);
+
+        void addWords(String text, Suggestion suggestion) {
+            if (text == null) {
+                return;
+            }
+            String key = normalize(text);
+            for (int start = 0; start < key.length(); start++) {
+                if (start == 0 || !Character.isLetterOrDigit(key.charAt(start - 1))) {
+                    if (Character.isLetterOrDigit(key.charAt(start))) {
+                        add(key, start, suggestion);
+                    }
+                }
+            }
+        }
+
+        private void add(String key, int start, Suggestion suggestion) {
+            Builder node = this;
+            for (int i = start; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Builder());
+            }
+            if (!node.own.contains(suggestion)) {
+                node.own.add(suggestion);
+            }
+        }
+
+        Node freeze() {
+            char[] labels = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            List<Suggestion> top = new ArrayList<>(own);
+            top.sort(BY_RANK);
+            int i = 0;
+            for (Map.Entry<Character, Builder> child : children.entrySet()) {
+                labels[i] = child.getKey();
+                nodes[i] = child.getValue().freeze();
+                top = merge(top, nodes[i].top);
+                i++;
+            }
+            return new Node(labels, nodes, top.subList(0, Math.min(MAX_SUGGESTIONS, top.size()))
+                    .toArray(new Suggestion[0]));
+        }
+
+        /**
+         * Merge two ranked lists, keeping the best MAX_SUGGESTIONS and dropping
+         * suggestions reached through more than one word start
+         */
+        private static List<Suggestion> merge(List<Suggestion> left, Suggestion[] right) {
+            if (right.length == 0) {
+                return left;
+            }
+            List<Suggestion> merged = new ArrayList<>(MAX_SUGGESTIONS);
+            int l = 0;
+            int r = 0;
+            while (merged.size() < MAX_SUGGESTIONS && (l < left.size() || r < right.length)) {
+                Suggestion next = r >= right.length
+                        || (l < left.size() && BY_RANK.compare(left.get(l), right[r]) <= 0)
+                        ? left.get(l++) : right[r++];
+                if (!merged.contains(next)) {
+                    merged.add(next);
+                }
+            }
+            return merged;
+        }
+    }
+
+    /**
+     * Immutable trie node: sorted child labels with parallel child array
+     */
+    private static final class Node {
+
+        static final Node EMPTY = new Node(new char[0], new Node[0], new Suggestion[0]);
+
+        final char[] labels;
+        final Node[] children;
+        final Suggestion[] top;
+
+        Node(char[] labels, Node[] children, Suggestion[] top) {
+            this.labels = labels;
+            this.children = children;
+            this.top = top;
+        }
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+}
@@ -0,0 +1,433 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.model.Room;
+import com.hotel.reservation.repository.ReservationRepository;
+import com.hotel.reservation.repository.RoomRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory availability index: one day-granular bitmap per room.
+ *
+ * A reservation occupies every day from check-in to check-out inclusive,
+ * which mirrors the overlap test in RoomRepository.findAvailableRoomsForDateRange.
+ * Bits are addressed relative to an origin day fixed at build time; no booking
+ * can start before it because new reservations are never in the past.
+ * Every change to a room's stays is mirrored into OccupancyCounters.
+ *
+ * A rebuild fills a fresh index and a fresh set of counters while live changes
+ * keep going to the current ones, then swaps both in. Changes applied while it
+ * read are replayed into the fresh index first; holds, releases, trims and
+ * room updates are idempotent, so a change the read already saw is harmless.
+ */
+@Component
+@Slf4j
+public class AvailabilityIndex {
+
+    private final RoomRepository roomRepository;
+    private final ReservationRepository reservationRepository;
+    private final OccupancyCounters occupancy;
+
+    // Changes apply under the read lock; a rebuild starts and swaps under the write lock
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final List<Consumer<Index>> changesDuringRebuild = new ArrayList<>();
+
+    private volatile Index index;
+    private volatile boolean rebuilding;
+    private volatile boolean warm;
+
+    public AvailabilityIndex(RoomRepository roomRepository,
+                             ReservationRepository reservationRepository,
+                             OccupancyCounters occupancy) {
+        this.roomRepository = roomRepository;
+        this.reservationRepository = reservationRepository;
+        this.occupancy = occupancy;
+        // Rooms registered before the first build already count
+        this.index = new Index(new ConcurrentHashMap<>(), occupancy.current(), LocalDate.now().toEpochDay());
+    }
+
+    /**
+     * Calendars, the counters they feed and the day their bits count from
+     */
+    private record Index(Map<Long, RoomCalendar> calendars, OccupancyCounters.Tally counters, long originDay) {
+
+        /**
+         * Day offset from the origin; days before the origin clamp to -1,
+         * which never has a bit set
+         */
+        int dayOf(LocalDate date) {
+            return (int) Math.max(-1, date.toEpochDay() - originDay);
+        }
+    }
+
+    /**
+     * Build the index from the rooms and reservations tables
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        swapLock.writeLock().lock();
+        try {
+            changesDuringRebuild.clear();
+            rebuilding = true;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        Index fresh;
+        int stayCount;
+        try {
+            List<Object[]> stays = reservationRepository.findActiveStayRows();
+            stayCount = stays.size();
+            long origin = LocalDate.now().toEpochDay();
+            for (Object[] row : stays) {
+                origin = Math.min(origin, ((LocalDate) row[2]).toEpochDay());
+            }
+            fresh = new Index(new ConcurrentHashMap<>(), occupancy.newTally(), origin);
+
+            for (Object[] row : roomRepository.findAllIndexRows()) {
+                fresh.calendars().put((Long) row[0], new RoomCalendar(fresh, (Long) row[1], (Integer) row[2],
+                        (String) row[3], priceOf((BigDecimal) row[5]), maskOf((Long) row[6]),
+                        Boolean.TRUE.equals(row[4])));
+            }
+
+            for (Object[] row : stays) {
+                RoomCalendar calendar = fresh.calendars().get((Long) row[1]);
+                if (calendar != null) {
+                    LocalDate end = effectiveEnd((LocalDate) row[3], (String) row[4], (LocalDateTime) row[5]);
+                    calendar.hold((Long) row[0], fresh.dayOf((LocalDate) row[2]), fresh.dayOf(end));
+                }
+            }
+        } catch (RuntimeException e) {
+            stopRecording();
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            for (Consumer<Index> change : changesDuringRebuild) {
+                change.accept(fresh);
+            }
+            log.info("Availability index built: {} rooms, {} stays, {} changes replayed",
+                    fresh.calendars().size(), stayCount, changesDuringRebuild.size());
+            changesDuringRebuild.clear();
+            rebuilding = false;
+            index = fresh;
+            occupancy.swap(fresh.counters());
+            warm = true;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Add or refresh a room's searchable attributes
+     */
+    public void registerRoom(Room room) {
+        Long roomId = room.getId();
+        Long hotelId = room.getHotel() != null ? room.getHotel().getId() : null;
+        Integer capacity = room.getCapacity();
+        String category = room.getCategory();
+        Money basePrice = priceOf(room.getBasePrice());
+        long amenityMask = maskOf(room.getAmenityMask());
+        boolean active = Boolean.TRUE.equals(room.getIsActive());
+        apply(target -> target.calendars().compute(roomId, (id, existing) -> {
+            if (existing == null) {
+                return new RoomCalendar(target, hotelId, capacity, category, basePrice, amenityMask, active);
+            }
+            existing.update(hotelId, capacity, category, basePrice, amenityMask, active);
+            return existing;
+        }));
+    }
+
+    /**
+     * Mark the days of a reservation as taken
+     */
+    public void hold(Long reservationId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        apply(target -> {
+            RoomCalendar calendar = target.calendars().get(roomId);
+            if (calendar != null) {
+                calendar.hold(reservationId, target.dayOf(checkIn), target.dayOf(checkOut));
+            }
+        });
+    }
+
+    /**
+     * Free the days held by a reservation
+     */
+    public void release(Long reservationId, Long roomId) {
+        apply(target -> {
+            RoomCalendar calendar = target.calendars().get(roomId);
+            if (calendar != null) {
+                calendar.release(reservationId);
+            }
+        });
+    }
+
+    /**
+     * Shorten a reservation's hold, e.g. when the guest checks out early
+     */
+    public void trim(Long reservationId, Long roomId, LocalDate lastDay) {
+        apply(target -> {
+            RoomCalendar calendar = target.calendars().get(roomId);
+            if (calendar != null) {
+                calendar.trim(reservationId, target.dayOf(lastDay));
+            }
+        });
+    }
+
+    /**
+     * Check if an active room is free for every day in the range
+     */
+    public boolean isAvailable(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        Index current = index;
+        RoomCalendar calendar = current.calendars().get(roomId);
+        return calendar != null && calendar.active && calendar.isFree(current.dayOf(checkIn), current.dayOf(checkOut));
+    }
+
+    /**
+     * Ids of active rooms matching the filters that are free for the range.
+     * Null filters match every room, as in the repository query.
+     */
+    public List<Long> findAvailableRoomIds(LocalDate checkIn, LocalDate checkOut,
+                                           Integer capacity, String category, Long hotelId) {
+        return findAvailableRoomIds(checkIn, checkOut, capacity, category, hotelId, AmenityFilter.NONE);
+    }
+
+    /**
+     * As above, also requiring the amenities, tested as a bitwise AND on each
+     * room's mask. The filter must be fully indexed.
+     */
+    public List<Long> findAvailableRoomIds(LocalDate checkIn, LocalDate checkOut, Integer capacity,
+                                           String category, Long hotelId, AmenityFilter amenities) {
+        Index current = index;
+        int from = current.dayOf(checkIn);
+        int to = current.dayOf(checkOut);
+        List<Long> ids = new ArrayList<>();
+        current.calendars().forEach((roomId, calendar) -> {
+            if (calendar.matches(capacity, category, hotelId)
+                    && amenities.matchesMask(calendar.amenityMask) && calendar.isFree(from, to)) {
+                ids.add(roomId);
+            }
+        });
+        ids.sort(null);
+        return ids;
+    }
+
+    /**
+     * Ids of active rooms in any of the given hotels that match the filters
+     * and are free for the range
+     */
+    public List<Long> findAvailableRoomIdsInHotels(LocalDate checkIn, LocalDate checkOut,
+                                                   Integer capacity, String category, Set<Long> hotelIds) {
+        Index current = index;
+        int from = current.dayOf(checkIn);
+        int to = current.dayOf(checkOut);
+        List<Long> ids = new ArrayList<>();
+        current.calendars().forEach((roomId, calendar) -> {
+            if (hotelIds.contains(calendar.hotelId) && calendar.matches(capacity, category, null)
+                    && calendar.isFree(from, to)) {
+                ids.add(roomId);
+            }
+        });
+        ids.sort(null);
+        return ids;
+    }
+
+    /**
+     * Ids of active rooms free for the range that match the counter's filters,
+     * feeding every available room to the counter in the same pass
+     */
+    List<Long> findAvailableRoomIds(LocalDate checkIn, LocalDate checkOut, RoomFacets.Counter counter) {
+        Index current = index;
+        int from = current.dayOf(checkIn);
+        int to = current.dayOf(checkOut);
+        List<Long> ids = new ArrayList<>();
+        current.calendars().forEach((roomId, calendar) -> {
+            if (calendar.active && calendar.isFree(from, to)
+                    && counter.accept(calendar.hotelId, calendar.capacity, calendar.category, calendar.basePrice)) {
+                ids.add(roomId);
+            }
+        });
+        ids.sort(null);
+        return ids;
+    }
+
+    /**
+     * Apply a change to the live index, and record it for replay if a rebuild is reading
+     */
+    private void apply(Consumer<Index> change) {
+        swapLock.readLock().lock();
+        try {
+            change.accept(index);
+            if (rebuilding) {
+                synchronized (changesDuringRebuild) {
+                    changesDuringRebuild.add(change);
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void stopRecording() {
+        swapLock.writeLock().lock();
+        try {
+            changesDuringRebuild.clear();
+            rebuilding = false;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    private static long maskOf(Long amenityMask) {
+        return amenityMask != null ? amenityMask : 0L;
+    }
+
+    private static Money priceOf(BigDecimal basePrice) {
+        return basePrice != null ? Money.of(basePrice) : null;
+    }
+
+    static LocalDate effectiveEnd(LocalDate checkOutDate, String status, LocalDateTime actualCheckOut) {
+        if ("COMPLETED".equals(status) && actualCheckOut != null
+                && actualCheckOut.toLocalDate().isBefore(checkOutDate)) {
+            return actualCheckOut.toLocalDate();
+        }
+        return checkOutDate;
+    }
+
+    /**
+     * Attributes and occupancy bitmap of a single room. The interval map lets
+     * a release clear its own days without erasing an overlapping stay.
+     */
+    private static final class RoomCalendar {
+
+        private final Index owner;
+        private final BitSet days = new BitSet();
+        private final Map<Long, int[]> stays = new HashMap<>();
+
+        private volatile Long hotelId;
+        private volatile Integer capacity;
+        private volatile String category;
+        private volatile Money basePrice;
+        private volatile long amenityMask;
+        private volatile boolean active;
+
+        RoomCalendar(Index owner, Long hotelId, Integer capacity, String category, Money basePrice,
+                     long amenityMask, boolean active) {
+            this.owner = owner;
+            update(hotelId, capacity, category, basePrice, amenityMask, active);
+        }
+
+        synchronized void update(Long hotelId, Integer capacity, String category, Money basePrice,
+                                 long amenityMask, boolean active) {
+            if (this.active) {
+                owner.counters().addActiveRooms(this.hotelId, -1);
+            }
+            if (active) {
+                owner.counters().addActiveRooms(hotelId, 1);
+            }
+            if (!Objects.equals(this.hotelId, hotelId)) {
+                // The booked nights move with the room to its new hotel
+                for (int[] stay : stays.values()) {
+                    countNights(stay[0], stay[1], -1);
+                }
+                this.hotelId = hotelId;
+                for (int[] stay : stays.values()) {
+                    countNights(stay[0], stay[1], 1);
+                }
+            }
+            this.capacity = capacity;
+            this.category = category;
+            this.basePrice = basePrice;
+            this.amenityMask = amenityMask;
+            this.active = active;
+        }
+
+        boolean matches(Integer minCapacity, String wantedCategory, Long wantedHotelId) {
+            return active
+                    && (minCapacity == null || (capacity != null && capacity >= minCapacity))
+                    && (wantedCategory == null || wantedCategory.equals(category))
+                    && (wantedHotelId == null || wantedHotelId.equals(hotelId));
+        }
+
+        synchronized boolean isFree(int from, int to) {
+            if (to < 0 || to < from) {
+                return true;
+            }
+            int next = days.nextSetBit(Math.max(0, from));
+            return next < 0 || next > to;
+        }
+
+        synchronized void hold(Long reservationId, int from, int to) {
+            if (to < 0 || to < from) {
+                return;
+            }
+            int[] previous = stays.put(reservationId, new int[]{from, to});
+            if (previous != null) {
+                clear(previous);
+                countNights(previous[0], previous[1], -1);
+            }
+            days.set(Math.max(0, from), to + 1);
+            countNights(from, to, 1);
+        }
+
+        synchronized void release(Long reservationId) {
+            int[] stay = stays.remove(reservationId);
+            if (stay != null) {
+                clear(stay);
+                countNights(stay[0], stay[1], -1);
+            }
+        }
+
+        synchronized void trim(Long reservationId, int lastDay) {
+            int[] stay = stays.get(reservationId);
+            if (stay != null && lastDay < stay[1]) {
+                int[] removed = {Math.max(stay[0], lastDay + 1), stay[1]};
+                int previousEnd = stay[1];
+                stay[1] = Math.max(stay[0], lastDay);
+                clear(removed);
+                countNights(stay[1], previousEnd, -1);
+            }
+        }
+
+        /**
+         * A stay holding days from..to occupies the nights from..to-1
+         */
+        private void countNights(int from, int to, int delta) {
+            owner.counters().addNights(hotelId, owner.originDay() + from, owner.originDay() + to, delta);
+        }
+
+        private void clear(int[] range) {
+            days.clear(Math.max(0, range[0]), range[1] + 1);
+            for (int[] other : stays.values()) {
+                if (other[0] <= range[1] && other[1] >= range[0]) {
+                    days.set(Math.max(0, Math.max(other[0], range[0])), Math.min(other[1], range[1]) + 1);
+                }
+            }
+        }
+    }
+}
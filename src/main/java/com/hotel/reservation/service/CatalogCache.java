@@ -0,0 +1,165 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Hotel;
+import com.hotel.reservation.model.Room;
+import com.hotel.reservation.repository.HotelRepository;
+import com.hotel.reservation.repository.RoomRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds the current CatalogSnapshot of active hotels and rooms.
+ *
+ * Admin writes to hotels and rooms rebuild the snapshot from the database
+ * after they commit and swap it in with a single volatile write; readers
+ * just dereference the current snapshot. Rebuilds are serialized so a slower,
+ * older rebuild can never replace a newer one.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogCache {
+
+    private final HotelRepository hotelRepository;
+    private final RoomRepository roomRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final AtomicLong versions = new AtomicLong();
+    // Distinguishes this process's snapshot versions from another instance's or an earlier run's
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+
+    private volatile CatalogSnapshot snapshot = CatalogSnapshot.EMPTY;
+    private volatile boolean warm;
+
+    /**
+     * Difference between the snapshot and the database: active hotels and
+     * rooms missing on either side or changed since the snapshot was built
+     */
+    public record Check(long version, LocalDateTime builtAt, int hotels, int rooms,
+                        List<Long> mismatchedHotelIds, List<Long> mismatchedRoomIds) {
+
+        public boolean isConsistent() {
+            return mismatchedHotelIds.isEmpty() && mismatchedRoomIds.isEmpty();
+        }
+    }
+
+    /**
+     * Rebuild the snapshot from the database and swap it in. The snapshot gets
+     * its own copies of the loaded hotels and rooms, so no entity it hands out
+     * belongs to a persistence context or is shared with a writer.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public synchronized void refresh() {
+        Map<Long, Hotel> copies = new HashMap<>();
+        List<Hotel> activeHotels = new ArrayList<>();
+        for (Hotel hotel : hotelRepository.findAll()) {
+            Hotel copy = hotel.toBuilder().rooms(null).build();
+            copies.put(copy.getId(), copy);
+            if (Boolean.TRUE.equals(copy.getIsActive())) {
+                activeHotels.add(copy);
+            }
+        }
+        List<Room> rooms = new ArrayList<>();
+        for (Room room : roomRepository.findByIsActiveTrue()) {
+            // An active room may belong to an inactive hotel, so link it through every hotel's copy
+            Hotel hotel = room.getHotel() != null ? copies.get(room.getHotel().getId()) : null;
+            rooms.add(room.toBuilder().hotel(hotel).reservations(null).build());
+        }
+        entityManager.clear();
+
+        activeHotels.sort(Comparator.comparing(Hotel::getId));
+        rooms.sort(Comparator.comparing(Room::getId));
+
+        snapshot = new CatalogSnapshot(versions.incrementAndGet(), LocalDateTime.now(), activeHotels, rooms);
+        warm = true;
+        log.info("Catalog snapshot {} built: {} hotels, {} rooms",
+                snapshot.getVersion(), activeHotels.size(), rooms.size());
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    public CatalogSnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Strong entity tag of everything served from the current snapshot, or
+     * null while the catalog is cold. Read it before the data it tags, so a
+     * concurrent swap can only make the tag older than the body, never newer.
+     */
+    public String etag() {
+        return warm ? "\"catalog-" + instanceTag + "-" + snapshot.getVersion() + "\"" : null;
+    }
+
+    /**
+     * Compare the current snapshot with the database
+     */
+    @Transactional(readOnly = true)
+    public Check check() {
+        CatalogSnapshot current = snapshot;
+        List<Long> hotelIds = new ArrayList<>();
+        Set<Long> seenHotels = new HashSet<>();
+        for (Object[] row : hotelRepository.findActiveVersionRows()) {
+            Long id = (Long) row[0];
+            seenHotels.add(id);
+            Hotel hotel = current.hotel(id);
+            if (hotel == null || !Objects.equals(hotel.getUpdatedAt(), row[1])) {
+                hotelIds.add(id);
+            }
+        }
+        for (Hotel hotel : current.hotels()) {
+            if (!seenHotels.contains(hotel.getId())) {
+                hotelIds.add(hotel.getId());
+            }
+        }
+
+        List<Long> roomIds = new ArrayList<>();
+        Set<Long> seenRooms = new HashSet<>();
+        for (Object[] row : roomRepository.findActiveVersionRows()) {
+            Long id = (Long) row[0];
+            seenRooms.add(id);
+            Room room = current.room(id);
+            if (room == null || !Objects.equals(room.getUpdatedAt(), row[1])) {
+                roomIds.add(id);
+            }
+        }
+        for (Room room : current.rooms()) {
+            if (!seenRooms.contains(room.getId())) {
+                roomIds.add(room.getId());
+            }
+        }
+
+        hotelIds.sort(Comparator.naturalOrder());
+        roomIds.sort(Comparator.naturalOrder());
+        Check check = new Check(current.getVersion(), current.getBuiltAt(),
+                current.hotels().size(), current.rooms().size(), hotelIds, roomIds);
+        if (!check.isConsistent()) {
+            log.warn("Catalog snapshot {} is out of step with the database: hotels {}, rooms {}",
+                    current.getVersion(), hotelIds, roomIds);
+        }
+        return check;
+    }
+}
@@ -0,0 +1,111 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Hotel;
+import com.hotel.reservation.model.Room;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the active hotels and rooms, indexed by id, hotel and
+ * category. Collections are built once, so reads neither lock nor allocate.
+ *
+ * The entities are copies CatalogCache makes for this snapshot alone, never
+ * attached to a persistence context: a hotel's rooms and a room's
+ * reservations are null (and never serialized), and a room's hotel is the
+ * snapshot's copy. Every request thread shares them, so callers must treat
+ * them as read-only and never save them; a write loads its target with
+ * findById instead.
+ */
+public final class CatalogSnapshot {
+
+    static final CatalogSnapshot EMPTY = new CatalogSnapshot(0, LocalDateTime.MIN, List.of(), List.of());
+
+    private final long version;
+    private final LocalDateTime builtAt;
+    private final List<Hotel> hotels;
+    private final Map<Long, Hotel> hotelsById;
+    private final List<Room> rooms;
+    private final Map<Long, Room> roomsById;
+    private final Map<Long, List<Room>> roomsByHotel;
+    private final Map<String, List<Room>> roomsByCategory;
+
+    /**
+     * Index active hotels and rooms, both given in id order
+     */
+    CatalogSnapshot(long version, LocalDateTime builtAt, List<Hotel> hotels, List<Room> rooms) {
+        this.version = version;
+        this.builtAt = builtAt;
+        this.hotels = List.copyOf(hotels);
+        this.rooms = List.copyOf(rooms);
+
+        Map<Long, Hotel> hotelsById = new HashMap<>();
+        for (Hotel hotel : hotels) {
+            hotelsById.put(hotel.getId(), hotel);
+        }
+        Map<Long, Room> roomsById = new HashMap<>();
+        Map<Long, List<Room>> roomsByHotel = new LinkedHashMap<>();
+        Map<String, List<Room>> roomsByCategory = new LinkedHashMap<>();
+        for (Room room : rooms) {
+            roomsById.put(room.getId(), room);
+            if (room.getHotel() != null) {
+                roomsByHotel.computeIfAbsent(room.getHotel().getId(), id -> new ArrayList<>()).add(room);
+            }
+            if (room.getCategory() != null) {
+                roomsByCategory.computeIfAbsent(room.getCategory(), category -> new ArrayList<>()).add(room);
+            }
+        }
+        this.hotelsById = Map.copyOf(hotelsById);
+        this.roomsById = Map.copyOf(roomsById);
+        this.roomsByHotel = freeze(roomsByHotel);
+        this.roomsByCategory = freeze(roomsByCategory);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getBuiltAt() {
+        return builtAt;
+    }
+
+    public List<Hotel> hotels() {
+        return hotels;
+    }
+
+    /**
+     * Active hotel by id, or null
+     */
+    public Hotel hotel(Long id) {
+        return hotelsById.get(id);
+    }
+
+    public List<Room> rooms() {
+        return rooms;
+    }
+
+    /**
+     * Active room by id, or null
+     */
+    public Room room(Long id) {
+        return roomsById.get(id);
+    }
+
+    public List<Room> roomsOfHotel(Long hotelId) {
+        return roomsByHotel.getOrDefault(hotelId, List.of());
+    }
+
+    public List<Room> roomsInCategory(String category) {
+        return roomsByCategory.getOrDefault(category, List.of());
+    }
+
+    private static <K> Map<K, List<Room>> freeze(Map<K, List<Room>> groups) {
+        Map<K, List<Room>> frozen = new HashMap<>();
+        groups.forEach((key, group) -> frozen.put(key, List.copyOf(group)));
+        return Map.copyOf(frozen);
+    }
+}
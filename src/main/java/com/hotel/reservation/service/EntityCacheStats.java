@@ -0,0 +1,55 @@
+package com.hotel.reservation.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hit, miss and put counts of the Hibernate second-level cache regions
+ * (see ehcache.xml). Counts stay at zero unless hibernate.generate_statistics is on.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCacheStats {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Counters of one region; entriesInMemory is -1 when the provider does not report it
+     */
+    public record Region(String name, long hits, long misses, long puts, long entriesInMemory, double hitRatio) {
+    }
+
+    public boolean isEnabled() {
+        return statistics().isStatisticsEnabled();
+    }
+
+    public List<Region> regions() {
+        Statistics statistics = statistics();
+        String[] names = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(names);
+        List<Region> regions = new ArrayList<>(names.length);
+        for (String name : names) {
+            CacheRegionStatistics region = statistics.getDomainDataRegionStatistics(name);
+            if (region == null) {
+                continue;
+            }
+            long hits = region.getHitCount();
+            long misses = region.getMissCount();
+            regions.add(new Region(name, hits, misses, region.getPutCount(), region.getElementCountInMemory(),
+                    hits + misses == 0 ? 0.0 : (double) hits / (hits + misses)));
+        }
+        return regions;
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
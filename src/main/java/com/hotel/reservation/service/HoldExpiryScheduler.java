@@ -0,0 +1,111 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Tracks the deadline of every open inventory hold on a timing wheel and
+ * hands due holds to HoldExpiryService in batches.
+ *
+ * A timer that fires for a hold that was paid or extended is harmless: the
+ * bulk update only touches rows that are still pending and past their deadline.
+ */
+@Component
+@Slf4j
+public class HoldExpiryScheduler {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final ReservationRepository reservationRepository;
+    private final HoldExpiryService holdExpiryService;
+    private final Duration holdTtl;
+    private final Duration paymentGrace;
+    private final TimingWheel<Long> wheel;
+
+    public HoldExpiryScheduler(ReservationRepository reservationRepository,
+                               HoldExpiryService holdExpiryService,
+                               @Value("${app.booking.hold.ttl-minutes:15}") long ttlMinutes,
+                               @Value("${app.booking.hold.payment-grace-minutes:10}") long graceMinutes,
+                               @Value("${app.booking.hold.tick-ms:1000}") long tickMillis) {
+        this.reservationRepository = reservationRepository;
+        this.holdExpiryService = holdExpiryService;
+        this.holdTtl = Duration.ofMinutes(ttlMinutes);
+        this.paymentGrace = Duration.ofMinutes(graceMinutes);
+        this.wheel = new TimingWheel<>(tickMillis, System.currentTimeMillis());
+    }
+
+    /**
+     * Deadline for a hold placed now
+     */
+    public LocalDateTime newHoldDeadline() {
+        return LocalDateTime.now().plus(holdTtl);
+    }
+
+    /**
+     * Schedule expiry of a reservation's hold once the current transaction commits
+     */
+    public void scheduleAfterCommit(Long reservationId, LocalDateTime deadline) {
+        AfterCommit.run(() -> schedule(reservationId, deadline));
+    }
+
+    /**
+     * Push a live hold's deadline out while the guest is at the payment gateway.
+     * False if the reservation is no longer pending or its hold already ran out.
+     */
+    public boolean extendForPayment(Long reservationId) {
+        LocalDateTime extended = LocalDateTime.now().plus(paymentGrace);
+        if (!holdExpiryService.extendHold(reservationId, extended)) {
+            return false;
+        }
+        scheduleAfterCommit(reservationId, extended);
+        return true;
+    }
+
+    /**
+     * Load every open hold into the wheel
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOpenHolds() {
+        int adopted = holdExpiryService.assignMissingDeadlines(newHoldDeadline());
+        List<Object[]> holds = reservationRepository.findOpenHolds();
+        for (Object[] row : holds) {
+            schedule((Long) row[0], (LocalDateTime) row[1]);
+        }
+        log.info("Scheduled {} open reservation holds ({} without a deadline)", holds.size(), adopted);
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.hold.tick-ms:1000}")
+    public void expireDueHolds() {
+        List<Long> due;
+        synchronized (wheel) {
+            due = wheel.advance(System.currentTimeMillis());
+        }
+        for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+            List<Long> batch = due.subList(from, Math.min(due.size(), from + BATCH_SIZE));
+            try {
+                holdExpiryService.expireHolds(batch);
+            } catch (Exception e) {
+                log.error("Failed to expire {} reservation holds, retrying next tick", batch.size(), e);
+                LocalDateTime retryAt = LocalDateTime.now();
+                batch.forEach(id -> schedule(id, retryAt));
+            }
+        }
+    }
+
+    private void schedule(Long reservationId, LocalDateTime deadline) {
+        long deadlineMillis = deadline.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        synchronized (wheel) {
+            wheel.add(reservationId, deadlineMillis);
+        }
+    }
+}
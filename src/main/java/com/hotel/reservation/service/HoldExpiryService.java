@@ -0,0 +1,103 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.PaymentStatus;
+import com.hotel.reservation.model.Reservation;
+import com.hotel.reservation.repository.PaymentRepository;
+import com.hotel.reservation.repository.ReservationRepository;
+import com.hotel.reservation.repository.RoomNightRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Releases the inventory of unpaid reservations whose hold has run out.
+ * Works on whole batches with set-based statements instead of loading and
+ * saving each reservation.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class HoldExpiryService {
+
+    private final ReservationRepository reservationRepository;
+    private final RoomNightRepository roomNightRepository;
+    private final PaymentRepository paymentRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final StatsCounters statsCounters;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Confirm a paid reservation if it is still pending and its hold has not
+     * run out. The status is switched by one guarded UPDATE, so it cannot
+     * overwrite a concurrent expiry or cancellation that already released the
+     * nights. False if the reservation was not confirmed.
+     */
+    public boolean confirmHold(Reservation reservation) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        if (reservationRepository.confirmHold(reservation.getId(), now) == 0) {
+            return false;
+        }
+        entityManager.refresh(reservation);
+        return true;
+    }
+
+    /**
+     * Extend a pending reservation's hold to at least the given deadline if it
+     * has not run out yet, with one guarded UPDATE so a concurrent expiry is
+     * never undone. False if the hold was not live.
+     */
+    public boolean extendHold(Long reservationId, LocalDateTime deadline) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        return reservationRepository.extendHold(reservationId, deadline.truncatedTo(ChronoUnit.MILLIS), now) > 0;
+    }
+
+    /**
+     * Expire the given holds if they are still pending and past their deadline.
+     * Holds that were paid or extended in the meantime are left untouched.
+     */
+    public int expireHolds(List<Long> reservationIds) {
+        // Millisecond precision so the stamp round-trips through the database
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        if (reservationRepository.expireHolds(reservationIds, now) == 0) {
+            return 0;
+        }
+
+        List<Object[]> expired = reservationRepository.findExpiredStays(reservationIds, now);
+        List<Long> expiredIds = new ArrayList<>(expired.size());
+        for (Object[] row : expired) {
+            expiredIds.add((Long) row[0]);
+        }
+
+        roomNightRepository.deleteByReservationIdIn(expiredIds);
+        paymentRepository.updateStatusForReservations(expiredIds, PaymentStatus.PENDING, PaymentStatus.FAILED, now);
+
+        AfterCommit.run(() -> {
+            for (Object[] row : expired) {
+                availabilityIndex.release((Long) row[0], (Long) row[1]);
+            }
+            statsCounters.reservationsStatusChanged("PENDING", "EXPIRED", expired.size());
+        });
+
+        log.info("Expired {} unpaid reservation holds", expiredIds.size());
+        return expiredIds.size();
+    }
+
+    /**
+     * Give pending reservations created before holds existed a deadline
+     */
+    public int assignMissingDeadlines(LocalDateTime deadline) {
+        return reservationRepository.assignMissingHoldDeadlines(deadline);
+    }
+}
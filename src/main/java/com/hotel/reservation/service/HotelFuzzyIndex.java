@@ -0,0 +1,302 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Hotel;
+import com.hotel.reservation.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typo-tolerant hotel search over the words of hotel names and addresses.
+ *
+ * Each field keeps a dictionary of distinct words with their hotels, arranged
+ * in a BK-tree under Levenshtein distance. A lookup only descends into
+ * subtrees whose edge distance is within the allowed edits of the query word
+ * (triangle inequality), so it compares against a small part of the
+ * dictionary. Words of up to two characters must match exactly, up to five
+ * allow one edit and longer words two.
+ *
+ * A hotel matches when every query word is close to one of its words; hotels
+ * with fewer total edits rank first. Per-query cost is bounded by the number
+ * of query words considered and a node budget per word.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HotelFuzzyIndex {
+
+    public static final int MAX_EDITS = 2;
+
+    private static final int MAX_QUERY_WORDS = 6;
+    private static final int MAX_VISITS_PER_WORD = 5_000;
+
+    private final HotelRepository hotelRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Dictionary names = new Dictionary();
+    private final Dictionary addresses = new Dictionary();
+
+    private volatile boolean warm;
+
+    /**
+     * Build the dictionaries from the hotels table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Object[]> rows = hotelRepository.findSearchRows();
+        lock.writeLock().lock();
+        try {
+            warm = false;
+            documents.clear();
+            names.clear();
+            addresses.clear();
+            for (Object[] row : rows) {
+                add(new Document((Long) row[0], words((String) row[1]), words((String) row[2])));
+            }
+            warm = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Hotel fuzzy index built: {} hotels, {} name words, {} address words",
+                rows.size(), names.size(), addresses.size());
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Add, refresh or (for inactive hotels) drop a hotel
+     */
+    public void index(Hotel hotel) {
+        lock.writeLock().lock();
+        try {
+            Document previous = documents.remove(hotel.getId());
+            if (previous != null) {
+                names.remove(previous.id(), previous.nameWords());
+                addresses.remove(previous.id(), previous.addressWords());
+            }
+            if (Boolean.TRUE.equals(hotel.getIsActive())) {
+                add(new Document(hotel.getId(), words(hotel.getName()), words(hotel.getAddress())));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of active hotels whose field has a word close to every word of the
+     * query, fewest edits first
+     */
+    public List<Long> search(HotelSearchIndex.Field field, String query) {
+        List<String> queryWords = new ArrayList<>(words(query));
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+        queryWords = queryWords.subList(0, Math.min(MAX_QUERY_WORDS, queryWords.size()));
+        Dictionary dictionary = field == HotelSearchIndex.Field.NAME ? names : addresses;
+        Map<Long, Integer> edits = null;
+        lock.readLock().lock();
+        try {
+            for (String word : queryWords) {
+                Map<Long, Integer> closest = dictionary.closest(word, allowedEdits(word));
+                if (edits == null) {
+                    edits = closest;
+                } else {
+                    edits.keySet().retainAll(closest.keySet());
+                    edits.replaceAll((id, total) -> total + closest.get(id));
+                }
+                if (edits.isEmpty()) {
+                    return List.of();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> ids = new ArrayList<>(edits.keySet());
+        Map<Long, Integer> totals = edits;
+        ids.sort(Comparator.comparing((Long id) -> totals.get(id)).thenComparing(id -> id));
+        return ids;
+    }
+
+    static int allowedEdits(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : MAX_EDITS;
+    }
+
+    /**
+     * Levenshtein distance between two words
+     */
+    static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private void add(Document document) {
+        documents.put(document.id(), document);
+        names.add(document.id(), document.nameWords());
+        addresses.add(document.id(), document.addressWords());
+    }
+
+    private static Set<String> words(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private record Document(Long id, Set<String> nameWords, Set<String> addressWords) {
+    }
+
+    /**
+     * Words of one field with their hotels, under a BK-tree. Words whose last
+     * hotel left stay in the tree without postings until they outnumber the
+     * live words, then the tree is rebuilt.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+        private Node root;
+        private int treeSize;
+
+        int size() {
+            return postings.size();
+        }
+
+        void clear() {
+            postings.clear();
+            root = null;
+            treeSize = 0;
+        }
+
+        void add(Long id, Set<String> words) {
+            for (String word : words) {
+                postings.computeIfAbsent(word, w -> {
+                    insert(w);
+                    return new HashSet<>();
+                }).add(id);
+            }
+        }
+
+        void remove(Long id, Set<String> words) {
+            for (String word : words) {
+                Set<Long> ids = postings.get(word);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+            if (treeSize > 2 * postings.size() + 64) {
+                root = null;
+                treeSize = 0;
+                postings.keySet().forEach(this::insert);
+            }
+        }
+
+        /**
+         * Fewest edits from the word to any word of each hotel, within maxEdits
+         */
+        Map<Long, Integer> closest(String word, int maxEdits) {
+            Map<Long, Integer> closest = new HashMap<>();
+            if (maxEdits == 0) {
+                for (Long id : postings.getOrDefault(word, Set.of())) {
+                    closest.put(id, 0);
+                }
+                return closest;
+            }
+            Deque<Node> pending = new ArrayDeque<>();
+            if (root != null) {
+                pending.push(root);
+            }
+            int visits = 0;
+            while (!pending.isEmpty() && visits++ < MAX_VISITS_PER_WORD) {
+                Node node = pending.pop();
+                int distance = distance(word, node.word);
+                if (distance <= maxEdits) {
+                    for (Long id : postings.getOrDefault(node.word, Set.of())) {
+                        closest.merge(id, distance, Math::min);
+                    }
+                }
+                for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                    if (Math.abs(child.getKey() - distance) <= maxEdits) {
+                        pending.push(child.getValue());
+                    }
+                }
+            }
+            return closest;
+        }
+
+        private void insert(String word) {
+            treeSize++;
+            if (root == null) {
+                root = new Node(word);
+                return;
+            }
+            Node node = root;
+            while (true) {
+                int distance = distance(word, node.word);
+                if (distance == 0) {
+                    treeSize--;
+                    return;
+                }
+                Node child = node.children.get(distance);
+                if (child == null) {
+                    node.children.put(distance, new Node(word));
+                    return;
+                }
+                node = child;
+            }
+        }
+    }
+
+    private static final class Node {
+
+        final String word;
+        final Map<Integer, Node> children = new HashMap<>(4);
+
+        Node(String word) {
+            this.word = word;
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Hotel;
+import com.hotel.reservation.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory grid index of hotel coordinates.
+ *
+ * Hotels are bucketed into cells of CELL_DEGREES on a side. Radius and
+ * bounding-box queries visit only the cells overlapping the area; nearest-k
+ * walks rings of cells outwards and stops once no unvisited cell can hold a
+ * closer hotel. When a ring would cost more than scanning the occupied cells,
+ * the query scans those instead, so sparse data never degrades past a scan
+ * of the hotels themselves. Distances are great-circle (haversine) in km.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HotelGeoIndex {
+
+    private static final double CELL_DEGREES = 0.25;
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final int LNG_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final int LAT_CELLS = (int) Math.round(180 / CELL_DEGREES);
+
+    /**
+     * A hotel and its distance from the query point
+     */
+    public record Hit(Long hotelId, double distanceKm) {
+    }
+
+    private final HotelRepository hotelRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Point> points = new HashMap<>();
+    private final Map<Long, Set<Long>> cells = new HashMap<>();
+
+    private volatile boolean warm;
+
+    /**
+     * Build the index from the hotels table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Object[]> rows = hotelRepository.findGeoRows();
+        lock.writeLock().lock();
+        try {
+            warm = false;
+            points.clear();
+            cells.clear();
+            for (Object[] row : rows) {
+                add((Long) row[0], (Double) row[1], (Double) row[2]);
+            }
+            warm = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Hotel geo index built: {} hotels in {} cells", rows.size(), cells.size());
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Add, move or drop a hotel; inactive hotels and hotels without coordinates are dropped
+     */
+    public void index(Hotel hotel) {
+        lock.writeLock().lock();
+        try {
+            remove(hotel.getId());
+            if (Boolean.TRUE.equals(hotel.getIsActive())
+                    && hotel.getLatitude() != null && hotel.getLongitude() != null) {
+                add(hotel.getId(), hotel.getLatitude(), hotel.getLongitude());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Hotels within radiusKm of the point, nearest first
+     */
+    public List<Hit> withinRadius(double latitude, double longitude, double radiusKm) {
+        double latSpan = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double lngSpan = longitudeSpan(latitude, latSpan, radiusKm);
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : candidatesInBox(latitude - latSpan, latitude + latSpan,
+                    longitude - lngSpan, longitude + lngSpan)) {
+                Point point = points.get(id);
+                double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+                if (distance <= radiusKm) {
+                    hits.add(new Hit(id, distance));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparing(Hit::hotelId));
+        return hits;
+    }
+
+    /**
+     * Hotels inside the bounding box, nearest to its centre first.
+     * A box with minLongitude greater than maxLongitude crosses the antimeridian.
+     */
+    public List<Hit> withinBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+        double centreLat = (minLatitude + maxLatitude) / 2;
+        double maxLng = maxLongitude < minLongitude ? maxLongitude + 360 : maxLongitude;
+        double centreLng = normalizeLongitude((minLongitude + maxLng) / 2);
+        List<Hit> hits = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : candidatesInBox(minLatitude, maxLatitude, minLongitude, maxLng)) {
+                Point point = points.get(id);
+                double lng = point.longitude() < minLongitude ? point.longitude() + 360 : point.longitude();
+                if (point.latitude() >= minLatitude && point.latitude() <= maxLatitude
+                        && lng >= minLongitude && lng <= maxLng) {
+                    hits.add(new Hit(id, distanceKm(centreLat, centreLng, point.latitude(), point.longitude())));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparing(Hit::hotelId));
+        return hits;
+    }
+
+    /**
+     * The k hotels nearest to the point, optionally capped at maxRadiusKm, nearest first
+     */
+    public List<Hit> nearest(double latitude, double longitude, int k, Double maxRadiusKm) {
+        if (k <= 0) {
+            return List.of();
+        }
+        double radius = maxRadiusKm != null ? maxRadiusKm : Double.MAX_VALUE;
+        // Max-heap of the best k so far
+        PriorityQueue<Hit> best = new PriorityQueue<>(
+                Comparator.comparingDouble(Hit::distanceKm).thenComparing(Hit::hotelId).reversed());
+        int latCell = latCell(latitude);
+        int lngCell = lngCell(longitude);
+        lock.readLock().lock();
+        try {
+            for (int ring = 0; ; ring++) {
+                if (8L * ring > cells.size() || ring > LNG_CELLS / 2) {
+                    // Ring walking would cost more than a scan of the occupied cells
+                    best.clear();
+                    for (Map.Entry<Long, Point> entry : points.entrySet()) {
+                        offer(best, k, radius, latitude, longitude, entry.getKey(), entry.getValue());
+                    }
+                    break;
+                }
+                for (long cell : ring(latCell, lngCell, ring)) {
+                    Set<Long> ids = cells.get(cell);
+                    if (ids != null) {
+                        for (Long id : ids) {
+                            offer(best, k, radius, latitude, longitude, id, points.get(id));
+                        }
+                    }
+                }
+                // Every unvisited cell is at least this far away
+                double bound = ringBoundKm(latitude, longitude, ring);
+                if (bound > radius || (best.size() == k && best.peek().distanceKm() <= bound)) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm).thenComparing(Hit::hotelId));
+        return hits;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return points.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static void offer(PriorityQueue<Hit> best, int k, double radius,
+                              double latitude, double longitude, Long id, Point point) {
+        double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+        if (distance > radius) {
+            return;
+        }
+        Hit hit = new Hit(id, distance);
+        if (best.size() < k) {
+            best.add(hit);
+        } else if (best.comparator().compare(hit, best.peek()) > 0) {
+            best.poll();
+            best.add(hit);
+        }
+    }
+
+    /**
+     * Lower bound on the distance from the point to any hotel outside the
+     * rings visited so far. From the haversine formula, a hotel dLat away is
+     * at least R*dLat away, and a hotel dLng away with latitude up to maxLat
+     * has hav(d/R) >= cos(lat)*cos(maxLat)*hav(dLng).
+     */
+    private static double ringBoundKm(double latitude, double longitude, int ring) {
+        double latSteps = ring + edgeFraction((latitude + 90) / CELL_DEGREES);
+        double lngSteps = ring + edgeFraction((normalizeLongitude(longitude) + 180) / CELL_DEGREES);
+        double latBound = EARTH_RADIUS_KM * Math.toRadians(latSteps * CELL_DEGREES);
+        double maxLat = Math.min(90, Math.abs(latitude) + (ring + 1) * CELL_DEGREES);
+        double dLng = Math.toRadians(Math.min(180, lngSteps * CELL_DEGREES));
+        double hav = Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(maxLat))
+                * Math.pow(Math.sin(dLng / 2), 2);
+        double lngBound = 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(Math.max(0, Math.min(1, hav))));
+        return Math.min(latBound, lngBound);
+    }
+
+    /**
+     * Distance from a position, in cells, to the nearer edge of its cell
+     */
+    private static double edgeFraction(double cells) {
+        double offset = cells - Math.floor(cells);
+        return Math.min(offset, 1 - offset);
+    }
+
+    /**
+     * Widest longitude difference, in degrees, of any point within radiusKm.
+     * Inverts hav(d/R) >= cos(lat)*cos(maxLat)*hav(dLng).
+     */
+    private static double longitudeSpan(double latitude, double latSpan, double radiusKm) {
+        double maxLat = Math.min(90, Math.abs(latitude) + latSpan);
+        double cosProduct = Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(maxLat));
+        double hav = Math.pow(Math.sin(radiusKm / EARTH_RADIUS_KM / 2), 2);
+        if (cosProduct <= 0 || hav >= cosProduct) {
+            return 180;
+        }
+        return Math.min(180, Math.toDegrees(2 * Math.asin(Math.sqrt(hav / cosProduct))));
+    }
+
+    private List<Long> candidatesInBox(double minLat, double maxLat, double minLng, double maxLng) {
+        int fromLat = latCell(Math.max(-90, minLat));
+        int toLat = latCell(Math.min(90, maxLat));
+        int fromLng = lngIndex(minLng);
+        long lngSpanCells = (long) lngIndex(maxLng) - fromLng + 1;
+        long boxCells = (toLat - fromLat + 1L) * Math.min(lngSpanCells, LNG_CELLS);
+        List<Long> ids = new ArrayList<>();
+        if (boxCells > cells.size()) {
+            // Cheaper to look at every occupied cell than at every cell of the box
+            for (Set<Long> cellIds : cells.values()) {
+                ids.addAll(cellIds);
+            }
+            return ids;
+        }
+        for (int lat = fromLat; lat <= toLat; lat++) {
+            for (long i = 0; i < Math.min(lngSpanCells, LNG_CELLS); i++) {
+                Set<Long> cellIds = cells.get(cellKey(lat, (int) (fromLng + i)));
+                if (cellIds != null) {
+                    ids.addAll(cellIds);
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Keys of the cells exactly ring steps away from the centre cell
+     */
+    private static Set<Long> ring(int latCell, int lngCell, int ring) {
+        Set<Long> keys = new HashSet<>();
+        for (int dLat = -ring; dLat <= ring; dLat++) {
+            int lat = latCell + dLat;
+            if (lat < 0 || lat >= LAT_CELLS) {
+                continue;
+            }
+            if (Math.abs(dLat) == ring) {
+                for (int dLng = -ring; dLng <= ring; dLng++) {
+                    keys.add(cellKey(lat, lngCell + dLng));
+                }
+            } else {
+                keys.add(cellKey(lat, lngCell - ring));
+                keys.add(cellKey(lat, lngCell + ring));
+            }
+        }
+        return keys;
+    }
+
+    private void add(Long id, double latitude, double longitude) {
+        Point point = new Point(latitude, longitude);
+        points.put(id, point);
+        cells.computeIfAbsent(cellKey(latCell(latitude), lngCell(longitude)), key -> new HashSet<>()).add(id);
+    }
+
+    private void remove(Long id) {
+        Point point = points.remove(id);
+        if (point != null) {
+            long key = cellKey(latCell(point.latitude()), lngCell(point.longitude()));
+            Set<Long> ids = cells.get(key);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private static int latCell(double latitude) {
+        return Math.min(LAT_CELLS - 1, (int) Math.floor((latitude + 90) / CELL_DEGREES));
+    }
+
+    private static int lngCell(double longitude) {
+        return lngIndex(normalizeLongitude(longitude));
+    }
+
+    /**
+     * Cell column of a longitude that may lie outside -180..180; cellKey wraps it
+     */
+    private static int lngIndex(double longitude) {
+        return (int) Math.floor((longitude + 180) / CELL_DEGREES);
+    }
+
+    private static long cellKey(int latCell, int lngCell) {
+        return (long) latCell * LNG_CELLS + Math.floorMod(lngCell, LNG_CELLS);
+    }
+
+    private static double normalizeLongitude(double longitude) {
+        double lng = ((longitude + 180) % 360 + 360) % 360 - 180;
+        return lng == 180 ? -180 : lng;
+    }
+
+    private record Point(double latitude, double longitude) {
+    }
+}
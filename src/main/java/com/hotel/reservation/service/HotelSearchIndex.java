@@ -0,0 +1,230 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Hotel;
+import com.hotel.reservation.repository.HotelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over the name and address of active hotels.
+ *
+ * A substring query of three or more characters intersects the posting lists
+ * of its trigrams, starting from the shortest, and verifies the survivors, so
+ * it touches only hotels sharing every trigram with the term. Shorter terms
+ * scan the indexed documents. Matching is case-insensitive like the
+ * ContainingIgnoreCase repository queries it replaces.
+ *
+ * Results are ranked: exact match, then prefix, then match at a word start,
+ * then any substring; ties go to the earlier match, the shorter text and the
+ * lower id.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class HotelSearchIndex {
+
+    private static final int GRAM = 3;
+
+    public enum Field {
+        NAME, ADDRESS
+    }
+
+    private final HotelRepository hotelRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Set<Long>> nameGrams = new HashMap<>();
+    private final Map<String, Set<Long>> addressGrams = new HashMap<>();
+
+    private volatile boolean warm;
+
+    /**
+     * Build the index from the hotels table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Object[]> rows = hotelRepository.findSearchRows();
+        lock.writeLock().lock();
+        try {
+            warm = false;
+            documents.clear();
+            nameGrams.clear();
+            addressGrams.clear();
+            for (Object[] row : rows) {
+                add(new Document((Long) row[0], normalize((String) row[1]), normalize((String) row[2])));
+            }
+            warm = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Hotel search index built: {} hotels", rows.size());
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Add, refresh or (for inactive hotels) drop a hotel
+     */
+    public void index(Hotel hotel) {
+        lock.writeLock().lock();
+        try {
+            remove(hotel.getId());
+            if (Boolean.TRUE.equals(hotel.getIsActive())) {
+                add(new Document(hotel.getId(), normalize(hotel.getName()), normalize(hotel.getAddress())));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of active hotels whose field contains the term, best match first
+     */
+    public List<Long> search(Field field, String term) {
+        String needle = normalize(term);
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(field, needle)) {
+                Document document = documents.get(id);
+                String text = field == Field.NAME ? document.name() : document.address();
+                int position = text.indexOf(needle);
+                if (position >= 0) {
+                    matches.add(new Match(id, rank(text, needle, position), position, text.length()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        matches.sort(Comparator.comparingInt(Match::rank)
+                .thenComparingInt(Match::position)
+                .thenComparingInt(Match::length)
+                .thenComparing(Match::id));
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            ids.add(match.id());
+        }
+        return ids;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Hotels sharing every trigram of the needle; all hotels for short needles
+     */
+    private Iterable<Long> candidates(Field field, String needle) {
+        if (needle.length() < GRAM) {
+            return documents.keySet();
+        }
+        Map<String, Set<Long>> postings = field == Field.NAME ? nameGrams : addressGrams;
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams(needle)) {
+            Set<Long> list = postings.get(gram);
+            if (list == null) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        List<Long> result = new ArrayList<>();
+        for (Long id : lists.get(0)) {
+            boolean inAll = true;
+            for (int i = 1; i < lists.size() && inAll; i++) {
+                inAll = lists.get(i).contains(id);
+            }
+            if (inAll) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private void add(Document document) {
+        documents.put(document.id(), document);
+        for (String gram : grams(document.name())) {
+            nameGrams.computeIfAbsent(gram, g -> new HashSet<>()).add(document.id());
+        }
+        for (String gram : grams(document.address())) {
+            addressGrams.computeIfAbsent(gram, g -> new HashSet<>()).add(document.id());
+        }
+    }
+
+    private void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document != null) {
+            unpost(nameGrams, grams(document.name()), id);
+            unpost(addressGrams, grams(document.address()), id);
+        }
+    }
+
+    private static void unpost(Map<String, Set<Long>> postings, Set<String> grams, Long id) {
+        for (String gram : grams) {
+            Set<Long> list = postings.get(gram);
+            if (list != null && list.remove(id) && list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static int rank(String text, String needle, int position) {
+        if (text.length() == needle.length()) {
+            return 0;
+        }
+        if (position == 0) {
+            return 1;
+        }
+        if (!Character.isLetterOrDigit(text.charAt(position - 1))) {
+            return 2;
+        }
+        // A later occurrence may still start a word
+        for (int at = text.indexOf(needle, position + 1); at > 0; at = text.indexOf(needle, at + 1)) {
+            if (!Character.isLetterOrDigit(text.charAt(at - 1))) {
+                return 2;
+            }
+        }
+        return 3;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private record Document(Long id, String name, String address) {
+    }
+
+    private record Match(Long id, int rank, int position, int length) {
+    }
+}
@@ -3,11 +3,17 @@ package com.hotel.reservation.service;
 import com.hotel.reservation.model.Hotel;
 import com.hotel.reservation.repository.HotelRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -15,18 +21,41 @@ import java.util.Optional;
 public class HotelService {
 
     private final HotelRepository hotelRepository;
+    private final HotelSearchIndex hotelSearchIndex;
+    private final HotelFuzzyIndex hotelFuzzyIndex;
+    private final AutocompleteIndex autocompleteIndex;
+    private final HotelGeoIndex hotelGeoIndex;
+    private final AmenityDictionary amenityDictionary;
+    private final CatalogCache catalogCache;
 
     /**
      * Get all active hotels
      */
     public List<Hotel> getAllActiveHotels() {
+        if (catalogCache.isWarm()) {
+            return catalogCache.current().hotels();
+        }
         return hotelRepository.findByIsActiveTrue();
     }
 
     /**
-     * Get hotel by ID
+     * Page through active hotels by id; cursor is null for the first page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Hotel> getActiveHotelsPage(String cursor, int limit) {
+        Long afterId = cursor == null ? 0L : PageCursor.decodeId(cursor, "hotels");
+        List<Hotel> hotels = hotelRepository.findActivePage(afterId, PageRequest.ofSize(limit + 1));
+        return CursorPage.of(hotels, limit, hotel -> PageCursor.encode("hotels", hotel.getId()));
+    }
+
+    /**
+     * Get hotel by ID. May return the catalog snapshot's shared copy: read it,
+     * never modify it; writes load their target with findById.
      */
     public Optional<Hotel> getHotelById(Long id) {
+        if (catalogCache.isWarm()) {
+            return Optional.ofNullable(catalogCache.current().hotel(id));
+        }
         return hotelRepository.findByIdAndIsActiveTrue(id);
     }
 
@@ -34,16 +63,40 @@ public class HotelService {
      * Search hotels by name
      */
     public List<Hotel> searchHotelsByName(String name) {
+        if (hotelSearchIndex.isWarm()) {
+            return loadHotels(hotelSearchIndex.search(HotelSearchIndex.Field.NAME, name));
+        }
         return hotelRepository.findByNameContainingIgnoreCaseAndIsActiveTrue(name);
     }
 
+    /**
+     * Search hotels by name; with fuzzy, hotels matching the name words up to
+     * a couple of typos follow the exact matches
+     */
+    public List<Hotel> searchHotelsByName(String name, boolean fuzzy) {
+        List<Hotel> hotels = searchHotelsByName(name);
+        return fuzzy ? withTypoMatches(hotels, HotelSearchIndex.Field.NAME, name) : hotels;
+    }
+
     /**
      * Search hotels by location
      */
     public List<Hotel> searchHotelsByLocation(String location) {
+        if (hotelSearchIndex.isWarm()) {
+            return loadHotels(hotelSearchIndex.search(HotelSearchIndex.Field.ADDRESS, location));
+        }
         return hotelRepository.findByAddressContainingIgnoreCaseAndIsActiveTrue(location);
     }
 
+    /**
+     * Search hotels by location; with fuzzy, hotels matching the location words
+     * up to a couple of typos follow the exact matches
+     */
+    public List<Hotel> searchHotelsByLocation(String location, boolean fuzzy) {
+        List<Hotel> hotels = searchHotelsByLocation(location);
+        return fuzzy ? withTypoMatches(hotels, HotelSearchIndex.Field.ADDRESS, location) : hotels;
+    }
+
     /**
      * Get hotels by location (alias for search)
      */
@@ -55,7 +108,63 @@ public class HotelService {
      * Get hotels by city
      */
     public List<Hotel> getHotelsByCity(String city) {
-        return hotelRepository.findByAddressContainingIgnoreCaseAndIsActiveTrue(city);
+        return searchHotelsByLocation(city);
+    }
+
+    /**
+     * Type-ahead suggestions of cities and hotel names, best rated first
+     */
+    public List<AutocompleteIndex.Suggestion> autocomplete(String prefix, int limit) {
+        return autocompleteIndex.suggest(prefix, Math.min(limit, AutocompleteIndex.MAX_SUGGESTIONS));
+    }
+
+    /**
+     * Hotels within radiusKm of a point, nearest first. With a limit, only the
+     * nearest limit hotels are returned.
+     */
+    public List<NearbyHotel> findHotelsNear(double latitude, double longitude, Double radiusKm, Integer limit) {
+        return loadNearbyHotels(findHotelHitsNear(latitude, longitude, radiusKm, limit));
+    }
+
+    /**
+     * Hotels inside a bounding box, nearest to its centre first
+     */
+    public List<NearbyHotel> findHotelsInBox(double minLatitude, double maxLatitude,
+                                             double minLongitude, double maxLongitude) {
+        HotelGeoIndex index = hotelGeoIndex.isWarm() ? hotelGeoIndex : scanGeoIndex();
+        return loadNearbyHotels(index.withinBox(minLatitude, maxLatitude, minLongitude, maxLongitude));
+    }
+
+    /**
+     * Ids and distances of hotels near a point, nearest first
+     */
+    public List<HotelGeoIndex.Hit> findHotelHitsNear(double latitude, double longitude,
+                                                      Double radiusKm, Integer limit) {
+        HotelGeoIndex index = hotelGeoIndex.isWarm() ? hotelGeoIndex : scanGeoIndex();
+        if (limit != null) {
+            return index.nearest(latitude, longitude, limit, radiusKm);
+        }
+        if (radiusKm == null) {
+            throw new IllegalArgumentException("Either a radius or a limit is required");
+        }
+        return index.withinRadius(latitude, longitude, radiusKm);
+    }
+
+    /**
+     * Keep the hotels offering every listed amenity (comma-separated, case-insensitive)
+     */
+    public List<Hotel> filterByAmenities(List<Hotel> hotels, String amenities) {
+        AmenityFilter filter = amenityDictionary.filterFor(amenities);
+        if (filter.isEmpty()) {
+            return hotels;
+        }
+        List<Hotel> matching = new ArrayList<>();
+        for (Hotel hotel : hotels) {
+            if (filter.matches(hotel.getAmenityMask(), hotel.getAmenities())) {
+                matching.add(hotel);
+            }
+        }
+        return matching;
     }
 
     /**
@@ -83,7 +192,10 @@ public class HotelService {
      * Create new hotel (Admin only)
      */
     public Hotel createHotel(Hotel hotel) {
-        return hotelRepository.save(hotel);
+        hotel.setAmenityMask(amenityDictionary.maskOf(hotel.getAmenities()));
+        Hotel saved = hotelRepository.save(hotel);
+        AfterCommit.run(() -> reindex(saved));
+        return saved;
     }
 
     /**
@@ -94,14 +206,19 @@ public class HotelService {
                 .map(hotel -> {
                     hotel.setName(hotelDetails.getName());
                     hotel.setAddress(hotelDetails.getAddress());
+                    hotel.setLatitude(hotelDetails.getLatitude());
+                    hotel.setLongitude(hotelDetails.getLongitude());
                     hotel.setEmail(hotelDetails.getEmail());
                     hotel.setPhone(hotelDetails.getPhone());
                     hotel.setRating(hotelDetails.getRating());
                     hotel.setAmenities(hotelDetails.getAmenities());
+                    hotel.setAmenityMask(amenityDictionary.maskOf(hotelDetails.getAmenities()));
                     hotel.setDescription(hotelDetails.getDescription());
                     hotel.setImageUrl(hotelDetails.getImageUrl());
                     hotel.setIsActive(hotelDetails.getIsActive());
-                    return hotelRepository.save(hotel);
+                    Hotel saved = hotelRepository.save(hotel);
+                    AfterCommit.run(() -> reindex(saved));
+                    return saved;
                 });
     }
 
@@ -112,7 +229,8 @@ public class HotelService {
         return hotelRepository.findById(id)
                 .map(hotel -> {
                     hotel.setIsActive(false);
-                    hotelRepository.save(hotel);
+                    Hotel saved = hotelRepository.save(hotel);
+                    AfterCommit.run(() -> reindex(saved));
                     return true;
                 })
                 .orElse(false);
@@ -122,6 +240,111 @@ public class HotelService {
      * Get hotel statistics
      */
     public long getTotalActiveHotels() {
-        return hotelRepository.findByIsActiveTrue().size();
+        if (catalogCache.isWarm()) {
+            return catalogCache.current().hotels().size();
+        }
+        return hotelRepository.countByIsActiveTrue();
+    }
+
+    private void reindex(Hotel hotel) {
+        hotelSearchIndex.index(hotel);
+        hotelFuzzyIndex.index(hotel);
+        autocompleteIndex.index(hotel);
+        hotelGeoIndex.index(hotel);
+        catalogCache.refresh();
+    }
+
+    /**
+     * Append the fuzzy matches missing from the exact results; exact results
+     * only while the fuzzy index is cold
+     */
+    private List<Hotel> withTypoMatches(List<Hotel> exact, HotelSearchIndex.Field field, String term) {
+        if (!hotelFuzzyIndex.isWarm()) {
+            return exact;
+        }
+        Set<Long> found = new HashSet<>();
+        for (Hotel hotel : exact) {
+            found.add(hotel.getId());
+        }
+        List<Long> extra = new ArrayList<>();
+        for (Long id : hotelFuzzyIndex.search(field, term)) {
+            if (!found.contains(id)) {
+                extra.add(id);
+            }
+        }
+        if (extra.isEmpty()) {
+            return exact;
+        }
+        List<Hotel> hotels = new ArrayList<>(exact);
+        hotels.addAll(loadHotels(extra));
+        return hotels;
+    }
+
+    /**
+     * One-off index over the active hotels, used while the shared index is cold
+     */
+    private HotelGeoIndex scanGeoIndex() {
+        HotelGeoIndex scan = new HotelGeoIndex(hotelRepository);
+        for (Hotel hotel : hotelRepository.findByIsActiveTrue()) {
+            scan.index(hotel);
+        }
+        return scan;
+    }
+
+    private List<NearbyHotel> loadNearbyHotels(List<HotelGeoIndex.Hit> hits) {
+        List<Long> ids = new ArrayList<>(hits.size());
+        for (HotelGeoIndex.Hit hit : hits) {
+            ids.add(hit.hotelId());
+        }
+        List<Hotel> hotels = loadHotels(ids);
+        Map<Long, Hotel> byId = new HashMap<>();
+        for (Hotel hotel : hotels) {
+            byId.put(hotel.getId(), hotel);
+        }
+        List<NearbyHotel> nearby = new ArrayList<>(hotels.size());
+        for (HotelGeoIndex.Hit hit : hits) {
+            Hotel hotel = byId.get(hit.hotelId());
+            if (hotel != null) {
+                nearby.add(new NearbyHotel(hotel, hit.distanceKm()));
+            }
+        }
+        return nearby;
+    }
+
+    /**
+     * Hydrate hotels picked by the search index, keeping its ranking. Hotels
+     * come from the catalog snapshot; only ids it lacks go to the database.
+     */
+    private List<Hotel> loadHotels(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Hotel> hotels = new HashMap<>();
+        List<Long> missing = ids;
+        if (catalogCache.isWarm()) {
+            CatalogSnapshot catalog = catalogCache.current();
+            missing = new ArrayList<>();
+            for (Long id : ids) {
+                Hotel hotel = catalog.hotel(id);
+                if (hotel != null) {
+                    hotels.put(id, hotel);
+                } else {
+                    missing.add(id);
+                }
+            }
+        }
+        for (Hotel hotel : missing.isEmpty() ? List.<Hotel>of() : hotelRepository.findAllById(missing)) {
+            if (Boolean.TRUE.equals(hotel.getIsActive())) {
+                hotels.put(hotel.getId(), hotel);
+            }
+        }
+        List<Hotel> ranked = new ArrayList<>(hotels.size());
+        for (Long id : ids) {
+            Hotel hotel = hotels.get(id);
+            if (hotel != null) {
+                ranked.add(hotel);
+            }
+        }
+        return ranked;
     }
 }
@@ -0,0 +1,139 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.IdempotencyRecord;
+import com.hotel.reservation.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Idempotency-Key bookkeeping: a bounded LRU of completed responses in front
+ * of the idempotency_keys table, which also acts as the cross-instance claim.
+ *
+ * Not transactional at class level on purpose: a failed claim insert must not
+ * poison the lookup that follows it.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public enum Decision { PROCEED, REPLAY, IN_PROGRESS, MISMATCH }
+
+    public record StoredResponse(String requestHash, int status, String body) {
+    }
+
+    public record Claim(Decision decision, StoredResponse response) {
+    }
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration retention;
+    private final Duration staleAfter;
+    private final Map<String, StoredResponse> cache;
+
+    public IdempotencyService(IdempotencyRecordRepository repository,
+                              @Value("${app.idempotency.cache-size:10000}") int cacheSize,
+                              @Value("${app.idempotency.retention-hours:24}") long retentionHours,
+                              @Value("${app.idempotency.stale-seconds:60}") long staleSeconds) {
+        this.repository = repository;
+        this.retention = Duration.ofHours(retentionHours);
+        this.staleAfter = Duration.ofSeconds(staleSeconds);
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Decide what to do with a request carrying an idempotency key. PROCEED
+     * means this caller now owns the key and must call complete or abandon.
+     * Keys of different callers never match.
+     */
+    public Claim claim(String caller, String key, String path, String requestHash) {
+        StoredResponse cached = cached(caller, key, path);
+        if (cached != null) {
+            return replay(cached, requestHash);
+        }
+
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                repository.saveAndFlush(IdempotencyRecord.builder()
+                        .caller(caller)
+                        .idempotencyKey(key)
+                        .requestPath(path)
+                        .requestHash(requestHash)
+                        .build());
+                return new Claim(Decision.PROCEED, null);
+            } catch (DataIntegrityViolationException e) {
+                Optional<IdempotencyRecord> existing = repository.findByCallerAndIdempotencyKeyAndRequestPath(caller, key, path);
+                if (existing.isEmpty()) {
+                    continue;
+                }
+                IdempotencyRecord record = existing.get();
+                if (record.getResponseStatus() != null) {
+                    StoredResponse stored = new StoredResponse(record.getRequestHash(),
+                            record.getResponseStatus(), record.getResponseBody());
+                    remember(caller, key, path, stored);
+                    return replay(stored, requestHash);
+                }
+                // An owner that died mid-request leaves a stale claim behind; take it over
+                LocalDateTime cutoff = LocalDateTime.now().minus(staleAfter);
+                if (repository.deleteStaleInProgress(caller, key, path, cutoff) == 0) {
+                    return new Claim(Decision.IN_PROGRESS, null);
+                }
+            }
+        }
+        return new Claim(Decision.IN_PROGRESS, null);
+    }
+
+    /**
+     * Store the response for a claimed key so retries get it back
+     */
+    public void complete(String caller, String key, String path, String requestHash, int status, String body) {
+        repository.complete(caller, key, path, status, body, LocalDateTime.now());
+        remember(caller, key, path, new StoredResponse(requestHash, status, body));
+    }
+
+    /**
+     * Release a claimed key without storing a response, so the request can be retried
+     */
+    public void abandon(String caller, String key, String path) {
+        repository.deleteInProgress(caller, key, path);
+    }
+
+    @Scheduled(fixedDelayString = "PT1H")
+    public void purgeExpired() {
+        int removed = repository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        if (removed > 0) {
+            log.info("Purged {} expired idempotency keys", removed);
+        }
+    }
+
+    private Claim replay(StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            return new Claim(Decision.MISMATCH, null);
+        }
+        return new Claim(Decision.REPLAY, stored);
+    }
+
+    private StoredResponse cached(String caller, String key, String path) {
+        synchronized (cache) {
+            return cache.get(caller + ' ' + path + ' ' + key);
+        }
+    }
+
+    private void remember(String caller, String key, String path, StoredResponse response) {
+        synchronized (cache) {
+            cache.put(caller + ' ' + path + ' ' + key, response);
+        }
+    }
+}
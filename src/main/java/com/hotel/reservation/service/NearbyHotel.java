@@ -0,0 +1,9 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Hotel;
+
+/**
+ * A hotel found by a geo search and its great-circle distance in km
+ */
+public record NearbyHotel(Hotel hotel, double distanceKm) {
+}
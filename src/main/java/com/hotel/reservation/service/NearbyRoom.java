@@ -0,0 +1,9 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Room;
+
+/**
+ * An available room found by a geo search and its hotel's distance in km
+ */
+public record NearbyRoom(Room room, double distanceKm) {
+}
@@ -0,0 +1,134 @@
+package com.hotel.reservation.service;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Live count of booked rooms per (hotel, night) and of active rooms per hotel.
+ *
+ * Every hotel has its own array of atomic per-night counters, so updates are
+ * lock-free and only contend on the same hotel and night. The counters are fed
+ * by AvailabilityIndex whenever it holds, releases or trims a stay, which
+ * covers reservation create, cancel, expiry and early check-out. Nights
+ * outside the calendar window are not tracked and read as empty. A rebuild of
+ * the index fills a fresh Tally and swaps it in whole.
+ */
+@Component
+public class OccupancyCounters {
+
+    private static final int CALENDAR_DAYS_BACK = 366;
+    private static final int CALENDAR_DAYS = 6 * 366;
+
+    private final long originDay = LocalDate.now().toEpochDay() - CALENDAR_DAYS_BACK;
+
+    private volatile Tally current = new Tally();
+
+    /**
+     * Rooms booked in the hotel for the night starting on this date
+     */
+    public int bookedRooms(Long hotelId, LocalDate night) {
+        HotelCounters counters = current.get(hotelId);
+        int day = dayOf(night.toEpochDay());
+        return counters == null || day < 0 ? 0 : counters.nights.get(day);
+    }
+
+    public int activeRooms(Long hotelId) {
+        HotelCounters counters = current.get(hotelId);
+        return counters == null ? 0 : counters.activeRooms.get();
+    }
+
+    /**
+     * Average occupancy of the hotel over the nights of a stay, in percent (0-100)
+     */
+    public int occupancyPercent(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        HotelCounters counters = current.get(hotelId);
+        if (counters == null || !checkOut.isAfter(checkIn)) {
+            return 0;
+        }
+        int rooms = counters.activeRooms.get();
+        if (rooms <= 0) {
+            return 0;
+        }
+        long from = checkIn.toEpochDay();
+        long to = checkOut.toEpochDay();
+        long booked = 0;
+        for (long epochDay = from; epochDay < to; epochDay++) {
+            int day = dayOf(epochDay);
+            if (day >= 0) {
+                booked += Math.min(rooms, counters.nights.get(day));
+            }
+        }
+        return (int) (booked * 100 / (rooms * (to - from)));
+    }
+
+    /**
+     * The counters reads are served from
+     */
+    Tally current() {
+        return current;
+    }
+
+    /**
+     * Empty counters for a rebuild to fill before it swaps them in
+     */
+    Tally newTally() {
+        return new Tally();
+    }
+
+    void swap(Tally tally) {
+        current = tally;
+    }
+
+    private int dayOf(long epochDay) {
+        long day = epochDay - originDay;
+        return day >= 0 && day < CALENDAR_DAYS ? (int) day : -1;
+    }
+
+    /**
+     * One generation of per-hotel counters
+     */
+    final class Tally {
+
+        private final Map<Long, HotelCounters> hotels = new ConcurrentHashMap<>();
+
+        void addActiveRooms(Long hotelId, int delta) {
+            if (hotelId != null && delta != 0) {
+                countersFor(hotelId).activeRooms.addAndGet(delta);
+            }
+        }
+
+        /**
+         * Add delta to every night from fromEpochDay inclusive to toEpochDay exclusive
+         */
+        void addNights(Long hotelId, long fromEpochDay, long toEpochDay, int delta) {
+            if (hotelId == null || toEpochDay <= fromEpochDay) {
+                return;
+            }
+            AtomicIntegerArray nights = countersFor(hotelId).nights;
+            long from = Math.max(fromEpochDay, originDay);
+            long to = Math.min(toEpochDay, originDay + CALENDAR_DAYS);
+            for (long epochDay = from; epochDay < to; epochDay++) {
+                nights.addAndGet((int) (epochDay - originDay), delta);
+            }
+        }
+
+        private HotelCounters get(Long hotelId) {
+            return hotelId != null ? hotels.get(hotelId) : null;
+        }
+
+        private HotelCounters countersFor(Long hotelId) {
+            return hotels.computeIfAbsent(hotelId, id -> new HotelCounters());
+        }
+    }
+
+    private static final class HotelCounters {
+
+        final AtomicInteger activeRooms = new AtomicInteger();
+        final AtomicIntegerArray nights = new AtomicIntegerArray(CALENDAR_DAYS);
+    }
+}
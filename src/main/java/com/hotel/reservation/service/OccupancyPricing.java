@@ -0,0 +1,89 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Yield-management surcharge driven by live hotel occupancy.
+ *
+ * Tiers are configured as "minOccupancy:adjustment" pairs, e.g.
+ * "70:+5%,85:+15%,95:+25%". A stay falls into the highest tier whose minimum
+ * its average occupancy reaches; below the lowest tier the price is unchanged.
+ * Occupancy comes from OccupancyCounters, so no query runs per quote.
+ */
+@Component
+public class OccupancyPricing {
+
+    private static final long BASIS = 10_000;
+
+    private final OccupancyCounters occupancyCounters;
+    private final List<Tier> tiers;
+
+    public OccupancyPricing(OccupancyCounters occupancyCounters,
+                            @Value("${app.pricing.occupancy-tiers:70:+5%,85:+15%,95:+25%}") String tiers) {
+        this.occupancyCounters = occupancyCounters;
+        this.tiers = parse(tiers);
+    }
+
+    /**
+     * Tier the stay falls into: 0 for none, otherwise 1 + the tier's position
+     */
+    public int tierFor(Long hotelId, LocalDate checkIn, LocalDate checkOut) {
+        if (tiers.isEmpty()) {
+            return 0;
+        }
+        int occupancy = occupancyCounters.occupancyPercent(hotelId, checkIn, checkOut);
+        int tier = 0;
+        for (int i = 0; i < tiers.size() && occupancy >= tiers.get(i).minOccupancy(); i++) {
+            tier = i + 1;
+        }
+        return tier;
+    }
+
+    /**
+     * Apply the surcharge of a tier returned by tierFor
+     */
+    public Money apply(Money price, int tier) {
+        return tier == 0 ? price : price.times(tiers.get(tier - 1).factorBasis(), BASIS);
+    }
+
+    public List<Tier> getTiers() {
+        return tiers;
+    }
+
+    private static List<Tier> parse(String text) {
+        List<Tier> tiers = new ArrayList<>();
+        for (String entry : text.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] parts = entry.strip().split(":");
+            if (parts.length != 2 || !parts[1].endsWith("%")) {
+                throw new IllegalArgumentException("Occupancy tier must look like '85:+15%', got '" + entry + "'");
+            }
+            int minOccupancy = Integer.parseInt(parts[0].strip());
+            BigDecimal percent = new BigDecimal(parts[1].substring(0, parts[1].length() - 1).replace("+", ""));
+            if (minOccupancy < 0 || minOccupancy > 100 || percent.scale() > 2
+                    || percent.compareTo(BigDecimal.valueOf(-100)) <= 0) {
+                throw new IllegalArgumentException("Invalid occupancy tier '" + entry + "'");
+            }
+            long factorBasis = BASIS + percent.movePointRight(2).longValueExact();
+            tiers.add(new Tier(minOccupancy, factorBasis));
+        }
+        tiers.sort(Comparator.comparingInt(Tier::minOccupancy));
+        return List.copyOf(tiers);
+    }
+
+    /**
+     * Surcharge applied from minOccupancy percent upwards, as a factor in basis points
+     */
+    public record Tier(int minOccupancy, long factorBasis) {
+    }
+}
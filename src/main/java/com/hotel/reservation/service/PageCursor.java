@@ -0,0 +1,72 @@
+package com.hotel.reservation.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque continuation token for keyset pagination.
+ *
+ * A cursor carries the sort key of the last row of a page, tagged with the
+ * listing it belongs to, as unpadded base64url. The next page seeks past that
+ * key through an index instead of skipping rows with OFFSET, so page 1000
+ * costs the same as page 1. Clients must treat the token as opaque.
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private static final String SEPARATOR = "|";
+
+    private PageCursor() {
+    }
+
+    /**
+     * Page size to use for a requested limit, defaulted and capped
+     */
+    public static int limit(Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (requested <= 0) {
+            throw new IllegalArgumentException("limit must be positive");
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    static String encode(String kind, Object... keys) {
+        StringBuilder text = new StringBuilder(kind);
+        for (Object key : keys) {
+            text.append(SEPARATOR).append(key);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sort key parts of a cursor issued for the given listing
+     */
+    static String[] decode(String cursor, String kind, int keyCount) {
+        String text;
+        try {
+            text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = text.split("\\" + SEPARATOR, -1);
+        if (parts.length != keyCount + 1 || !parts[0].equals(kind)) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] keys = new String[keyCount];
+        System.arraycopy(parts, 1, keys, 0, keyCount);
+        return keys;
+    }
+
+    static Long decodeId(String cursor, String kind) {
+        try {
+            return Long.valueOf(decode(cursor, kind, 1)[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
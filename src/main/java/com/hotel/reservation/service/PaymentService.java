@@ -1,5 +1,6 @@
 package com.hotel.reservation.service;
 
+import com.hotel.reservation.model.Money;
 import com.hotel.reservation.model.Payment;
 import com.hotel.reservation.model.PaymentStatus;
 import com.hotel.reservation.model.Reservation;
@@ -9,10 +10,11 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -32,6 +34,11 @@ public class PaymentService {
 
     private final PaymentRepository paymentRepository;
     private final ReservationRepository reservationRepository;
+    private final HoldExpiryScheduler holdExpiryScheduler;
+    private final HoldExpiryService holdExpiryService;
+    private final StatsCounters statsCounters;
+    private final RevenueAnalytics revenueAnalytics;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${razorpay.key.id:}")
     private String razorpayKeyId;
@@ -40,31 +47,35 @@ public class PaymentService {
     private String razorpayKeySecret;
 
     /**
-     * Create a payment order for Razorpay
+     * Create a payment order for Razorpay. The hold is extended and the payment
+     * recorded in one short transaction; the Razorpay call runs outside it, so
+     * no reservation row is written after the gateway round trip.
      */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Map<String, Object> createPaymentOrder(Long reservationId, BigDecimal amount) {
-        Reservation reservation = reservationRepository.findById(reservationId)
-                .orElseThrow(() -> new IllegalArgumentException("Reservation not found"));
-
         validateRazorpayConfiguration();
-
-        // Create payment record
-        Payment payment = Payment.builder()
-                .reservation(reservation)
-                .amount(amount)
-                .status(PaymentStatus.PENDING)
-                .paymentMethod("RAZORPAY")
-                .transactionId(generateTransactionId())
-                .build();
-
-        payment = paymentRepository.save(payment);
-
+        int amountInPaise = Money.of(amount).toMinorIntExact();
+
+        Payment payment = transactionTemplate.execute(status -> {
+            Reservation reservation = reservationRepository.findById(reservationId)
+                    .orElseThrow(() -> new IllegalArgumentException("Reservation not found"));
+
+            // Keep the inventory held while the guest is at the payment gateway
+            if (!holdExpiryScheduler.extendForPayment(reservationId)) {
+                throw new IllegalStateException("Reservation is not awaiting payment");
+            }
+
+            return paymentRepository.save(Payment.builder()
+                    .reservation(reservation)
+                    .amount(amount)
+                    .status(PaymentStatus.PENDING)
+                    .paymentMethod("RAZORPAY")
+                    .transactionId(generateTransactionId())
+                    .build());
+        });
+
+        Order order;
         try {
-            int amountInPaise = amount
-                    .multiply(new BigDecimal("100"))
-                    .setScale(0, RoundingMode.HALF_UP)
-                    .intValueExact();
-
             RazorpayClient razorpayClient = createRazorpayClient();
 
             JSONObject orderRequest = new JSONObject();
@@ -78,32 +89,37 @@ public class PaymentService {
             notes.put("paymentId", payment.getId());
             orderRequest.put("notes", notes);
 
-            Order order = razorpayClient.orders.create(orderRequest);
-
-            String razorpayOrderId = order.get("id");
-            payment.setTransactionId(razorpayOrderId);
-            paymentRepository.save(payment);
-
-            Map<String, Object> orderData = new HashMap<>();
-            orderData.put("orderId", razorpayOrderId);
-            orderData.put("amount", order.get("amount"));
-            orderData.put("currency", order.get("currency"));
-            orderData.put("paymentId", payment.getId());
-            orderData.put("reservationId", reservationId);
-            orderData.put("key", razorpayKeyId);
-            orderData.put("status", order.get("status"));
-
-            log.info("Razorpay order created successfully: {}", razorpayOrderId);
-            return orderData;
+            order = razorpayClient.orders.create(orderRequest);
         } catch (RazorpayException ex) {
             log.error("Failed to create Razorpay order", ex);
+            transactionTemplate.executeWithoutResult(status -> paymentRepository.updateStatus(
+                    payment.getId(), PaymentStatus.PENDING, PaymentStatus.FAILED, LocalDateTime.now()));
             throw new IllegalStateException("Unable to create payment order at the moment. Please try again.");
         }
+
+        String razorpayOrderId = order.get("id");
+        transactionTemplate.executeWithoutResult(status ->
+                paymentRepository.updateTransactionId(payment.getId(), razorpayOrderId));
+
+        Map<String, Object> orderData = new HashMap<>();
+        orderData.put("orderId", razorpayOrderId);
+        orderData.put("amount", order.get("amount"));
+        orderData.put("currency", order.get("currency"));
+        orderData.put("paymentId", payment.getId());
+        orderData.put("reservationId", reservationId);
+        orderData.put("key", razorpayKeyId);
+        orderData.put("status", order.get("status"));
+
+        log.info("Razorpay order created successfully: {}", razorpayOrderId);
+        return orderData;
     }
 
     /**
-     * Verify and complete payment
+     * Verify and complete payment. A verified payment for a reservation that is
+     * no longer held (expired, cancelled or already past PENDING) is refunded
+     * and rejected; the refund is kept even though the call fails.
      */
+    @Transactional(noRollbackFor = IllegalStateException.class)
     public Payment verifyAndCompletePayment(Long paymentId, String razorpayPaymentId, 
                                            String razorpayOrderId, String razorpaySignature) {
     Payment payment = paymentRepository.findById(paymentId)
@@ -112,14 +128,22 @@ public class PaymentService {
     boolean isValid = verifyPaymentSignature(razorpayOrderId, razorpayPaymentId, razorpaySignature);
 
         if (isValid) {
-            payment.setStatus(PaymentStatus.COMPLETED);
             payment.setTransactionId(razorpayPaymentId);
             payment.setProcessedAt(LocalDateTime.now());
 
-            // Update reservation status
+            // Only a live hold may be confirmed; an expired or cancelled one has released its nights
             Reservation reservation = payment.getReservation();
-            reservation.setStatus("CONFIRMED");
-            reservationRepository.save(reservation);
+            if (!holdExpiryService.confirmHold(reservation)) {
+                refundUnconfirmed(payment, razorpayPaymentId);
+                throw new IllegalStateException("Reservation is no longer awaiting payment; the payment is refunded");
+            }
+            payment.setStatus(PaymentStatus.COMPLETED);
+
+            RevenueAnalytics.Stay stay = RevenueAnalytics.Stay.of(reservation);
+            AfterCommit.run(() -> {
+                statsCounters.reservationStatusChanged("PENDING", "CONFIRMED", stay.totalAmount());
+                revenueAnalytics.transition(stay, "PENDING", "CONFIRMED");
+            });
 
             log.info("Payment completed successfully: {}", paymentId);
         } else {
@@ -161,6 +185,23 @@ public class PaymentService {
                 .orElse(null);
     }
 
+    /**
+     * Refund a captured payment whose reservation could not be confirmed
+     */
+    private void refundUnconfirmed(Payment payment, String razorpayPaymentId) {
+        try {
+            createRazorpayClient().payments.refund(razorpayPaymentId);
+            payment.setStatus(PaymentStatus.REFUNDED);
+            log.warn("Refunded payment {}: reservation {} is no longer awaiting payment",
+                    payment.getId(), payment.getReservation().getId());
+        } catch (RazorpayException e) {
+            payment.setStatus(PaymentStatus.FAILED);
+            log.error("Refund of payment {} ({}) failed, refund it manually",
+                    payment.getId(), razorpayPaymentId, e);
+        }
+        paymentRepository.save(payment);
+    }
+
     /**
      * Generate unique transaction ID
      */
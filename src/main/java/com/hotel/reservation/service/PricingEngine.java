@@ -0,0 +1,251 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Money;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-form room pricing driven by the pricing-rules DSL (see PricingRule).
+ *
+ * Rules are compiled into per-day multiplier tables, one per distinct set of
+ * rules in scope for a (hotel, category). A night's multiplier is the exact
+ * product of its rule factors, stored as a fixed-point long, with prefix sums
+ * over a six-year calendar. A stay costs basePrice * (prefix[out] - prefix[in]),
+ * rounded once HALF_UP to cents, which equals pricing night by night in
+ * BigDecimal to the cent.
+ *
+ * The rules file is polled for changes and swapped in atomically; quotes in
+ * flight keep the rule set they started with.
+ */
+@Component
+@Slf4j
+public class PricingEngine {
+
+    private static final BigDecimal MAX_FAST_CENTS = BigDecimal.valueOf(1L << 40);
+    private static final int MAX_SCALE = 12;
+    private static final int CALENDAR_YEARS_BACK = 1;
+    private static final int CALENDAR_YEARS = 6;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_SCALE + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i <= MAX_SCALE; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private final ResourceLoader resourceLoader;
+    private final String rulesLocation;
+    private final AtomicLong versions = new AtomicLong();
+    private final long originDay;
+    private final int calendarDays;
+
+    private volatile CompiledRules current;
+    private volatile long rulesLastModified;
+
+    public PricingEngine(ResourceLoader resourceLoader,
+                         @Value("${app.pricing.rules-location:classpath:pricing-rules.conf}") String rulesLocation) {
+        this.resourceLoader = resourceLoader;
+        this.rulesLocation = rulesLocation;
+        LocalDate start = LocalDate.of(LocalDate.now().getYear() - CALENDAR_YEARS_BACK, 1, 1);
+        this.originDay = start.toEpochDay();
+        this.calendarDays = (int) (start.plusYears(CALENDAR_YEARS).toEpochDay() - originDay);
+        reload();
+    }
+
+    /**
+     * Room price for the stay before taxes and fees
+     */
+    public Money price(BigDecimal basePrice, Long hotelId, String category, LocalDate checkIn, LocalDate checkOut) {
+        PricingTable table = current.tableFor(hotelId, category);
+        long multiplierSum = table.sum(checkIn, checkOut);
+        int scale = table.scale;
+
+        // Fast path: cents times the fixed-point multiplier sum fits in a long
+        if (basePrice.scale() <= 2 && basePrice.signum() >= 0 && scale <= 9) {
+            BigDecimal cents = basePrice.movePointRight(2);
+            if (cents.compareTo(MAX_FAST_CENTS) < 0) {
+                long product = multiplyOrNegative(cents.longValue(), multiplierSum);
+                if (product >= 0) {
+                    long unit = POWERS_OF_TEN[scale];
+                    return Money.ofMinor((product + unit / 2) / unit);
+                }
+            }
+        }
+        return Money.of(basePrice.multiply(BigDecimal.valueOf(multiplierSum, scale)));
+    }
+
+    /**
+     * Version of the active rule set; bumps on every successful reload
+     */
+    public long getRulesVersion() {
+        return current.version;
+    }
+
+    public List<PricingRule> getRules() {
+        return current.rules;
+    }
+
+    public String getRulesText() {
+        return current.source;
+    }
+
+    /**
+     * Re-read and compile the rules file. On a parse error the active rules stay in place.
+     */
+    public synchronized long reload() {
+        Resource resource = resourceLoader.getResource(rulesLocation);
+        String text;
+        long lastModified;
+        try {
+            text = resource.getContentAsString(StandardCharsets.UTF_8);
+            lastModified = lastModified(resource);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read pricing rules from " + rulesLocation, e);
+        }
+        List<PricingRule> rules = PricingRule.parseAll(text);
+        current = new CompiledRules(versions.incrementAndGet(), rules, text);
+        rulesLastModified = lastModified;
+        log.info("Loaded {} pricing rules from {} (version {})", rules.size(), rulesLocation, current.version);
+        return current.version;
+    }
+
+    @Scheduled(fixedDelayString = "${app.pricing.reload-interval-ms:10000}")
+    public void reloadIfChanged() {
+        long lastModified = lastModified(resourceLoader.getResource(rulesLocation));
+        if (lastModified > 0 && lastModified != rulesLastModified) {
+            try {
+                reload();
+            } catch (RuntimeException e) {
+                rulesLastModified = lastModified;
+                log.error("Rejected pricing rules change, keeping version {}", current.version, e);
+            }
+        }
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long multiplyOrNegative(long a, long b) {
+        try {
+            return Math.multiplyExact(a, b);
+        } catch (ArithmeticException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * An immutable, compiled rule set. Tables are built lazily per distinct
+     * set of in-scope rules, so hotels without their own rules share tables.
+     */
+    private final class CompiledRules {
+
+        final long version;
+        final List<PricingRule> rules;
+        final String source;
+        private final Map<String, PricingTable> byScope = new ConcurrentHashMap<>();
+        private final Map<List<Integer>, PricingTable> byRuleSet = new ConcurrentHashMap<>();
+
+        CompiledRules(long version, List<PricingRule> rules, String source) {
+            this.version = version;
+            this.rules = List.copyOf(rules);
+            this.source = source;
+        }
+
+        PricingTable tableFor(Long hotelId, String category) {
+            String scope = hotelId + "|" + (category == null ? "" : category.toUpperCase(Locale.ROOT));
+            return byScope.computeIfAbsent(scope, key -> {
+                List<Integer> applicable = new ArrayList<>();
+                for (int i = 0; i < rules.size(); i++) {
+                    if (rules.get(i).appliesTo(hotelId, category)) {
+                        applicable.add(i);
+                    }
+                }
+                return byRuleSet.computeIfAbsent(applicable, this::compile);
+            });
+        }
+
+        private PricingTable compile(List<Integer> ruleIndexes) {
+            List<PricingRule> tableRules = new ArrayList<>(ruleIndexes.size());
+            int scale = 0;
+            for (int index : ruleIndexes) {
+                PricingRule rule = rules.get(index);
+                tableRules.add(rule);
+                scale += Math.max(0, rule.factor().scale());
+            }
+            if (scale > MAX_SCALE) {
+                log.warn("Pricing rules {} need scale {}, rounding nightly multipliers to {} decimals",
+                        tableRules.stream().map(PricingRule::name).toList(), scale, MAX_SCALE);
+                scale = MAX_SCALE;
+            }
+            return new PricingTable(tableRules, scale, originDay, calendarDays);
+        }
+    }
+
+    /**
+     * Nightly multipliers of one rule set as fixed-point longs with prefix sums
+     */
+    private static final class PricingTable {
+
+        final int scale;
+        private final List<PricingRule> rules;
+        private final long originDay;
+        private final long[] prefix;
+
+        PricingTable(List<PricingRule> rules, int scale, long originDay, int days) {
+            this.rules = rules;
+            this.scale = scale;
+            this.originDay = originDay;
+            this.prefix = new long[days + 1];
+            LocalDate date = LocalDate.ofEpochDay(originDay);
+            for (int i = 0; i < days; i++, date = date.plusDays(1)) {
+                prefix[i + 1] = prefix[i] + multiplier(date);
+            }
+        }
+
+        long sum(LocalDate checkIn, LocalDate checkOut) {
+            long from = checkIn.toEpochDay() - originDay;
+            long to = checkOut.toEpochDay() - originDay;
+            if (from >= 0 && to < prefix.length && from <= to) {
+                return prefix[(int) to] - prefix[(int) from];
+            }
+            long sum = 0;
+            for (LocalDate date = checkIn; date.isBefore(checkOut); date = date.plusDays(1)) {
+                sum += multiplier(date);
+            }
+            return sum;
+        }
+
+        private long multiplier(LocalDate date) {
+            BigDecimal multiplier = BigDecimal.ONE;
+            for (PricingRule rule : rules) {
+                if (rule.appliesOn(date)) {
+                    multiplier = multiplier.multiply(rule.factor());
+                }
+            }
+            return multiplier.setScale(scale, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.hotel.reservation.service;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * One pricing rule of the pricing-rules DSL. A rule line reads
+ *
+ * <pre>
+ * rule &lt;name&gt; [hotel 1,2] [category SUITE,PRESIDENTIAL] [days FRI,SAT]
+ *      [dates 12-20..01-05] [period 2026-11-27..2026-11-30] adjust +30%
+ * </pre>
+ *
+ * Every clause but adjust is optional and narrows where the rule applies.
+ * "dates" is a yearly recurring range and may wrap over new year; "period"
+ * is an absolute date range. The multipliers of all rules that apply to a
+ * night are multiplied together. Categories compare case-insensitively.
+ */
+public record PricingRule(
+        String name,
+        Set<Long> hotelIds,
+        Set<String> categories,
+        Set<DayOfWeek> daysOfWeek,
+        MonthDay recurringFrom,
+        MonthDay recurringTo,
+        LocalDate periodFrom,
+        LocalDate periodTo,
+        BigDecimal factor) {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * Whether the rule is in scope for rooms of this hotel and category
+     */
+    public boolean appliesTo(Long hotelId, String category) {
+        return (hotelIds.isEmpty() || (hotelId != null && hotelIds.contains(hotelId)))
+                && (categories.isEmpty() || (category != null && categories.contains(category.toUpperCase(Locale.ROOT))));
+    }
+
+    /**
+     * Whether the rule adjusts the price of the night starting on this date
+     */
+    public boolean appliesOn(LocalDate date) {
+        if (!daysOfWeek.isEmpty() && !daysOfWeek.contains(date.getDayOfWeek())) {
+            return false;
+        }
+        if (periodFrom != null && (date.isBefore(periodFrom) || date.isAfter(periodTo))) {
+            return false;
+        }
+        if (recurringFrom != null) {
+            MonthDay day = MonthDay.from(date);
+            boolean wraps = recurringFrom.isAfter(recurringTo);
+            boolean inRange = wraps
+                    ? !day.isBefore(recurringFrom) || !day.isAfter(recurringTo)
+                    : !day.isBefore(recurringFrom) && !day.isAfter(recurringTo);
+            if (!inRange) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parse a rules document; blank lines and lines starting with # are ignored
+     */
+    public static List<PricingRule> parseAll(String text) {
+        List<PricingRule> rules = new ArrayList<>();
+        String[] lines = text.split("\\R");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            try {
+                rules.add(parse(line));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Pricing rule line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return rules;
+    }
+
+    static PricingRule parse(String line) {
+        String[] tokens = line.split("\\s+");
+        if (tokens.length < 2 || !"rule".equals(tokens[0])) {
+            throw new IllegalArgumentException("expected 'rule <name> ...'");
+        }
+        String name = tokens[1];
+        Set<Long> hotelIds = new LinkedHashSet<>();
+        Set<String> categories = new LinkedHashSet<>();
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        MonthDay recurringFrom = null;
+        MonthDay recurringTo = null;
+        LocalDate periodFrom = null;
+        LocalDate periodTo = null;
+        BigDecimal factor = null;
+
+        for (int i = 2; i < tokens.length; i += 2) {
+            if (i + 1 >= tokens.length) {
+                throw new IllegalArgumentException("missing value for '" + tokens[i] + "'");
+            }
+            String value = tokens[i + 1];
+            switch (tokens[i]) {
+                case "hotel" -> {
+                    for (String id : value.split(",")) {
+                        hotelIds.add(Long.parseLong(id));
+                    }
+                }
+                case "category" -> {
+                    for (String category : value.split(",")) {
+                        categories.add(category.toUpperCase(Locale.ROOT));
+                    }
+                }
+                case "days" -> {
+                    for (String day : value.split(",")) {
+                        days.add(dayOfWeek(day));
+                    }
+                }
+                case "dates" -> {
+                    String[] range = range(value);
+                    recurringFrom = MonthDay.parse("--" + range[0]);
+                    recurringTo = MonthDay.parse("--" + range[1]);
+                }
+                case "period" -> {
+                    String[] range = range(value);
+                    periodFrom = LocalDate.parse(range[0]);
+                    periodTo = LocalDate.parse(range[1]);
+                    if (periodTo.isBefore(periodFrom)) {
+                        throw new IllegalArgumentException("period ends before it starts");
+                    }
+                }
+                case "adjust" -> factor = factor(value);
+                default -> throw new IllegalArgumentException("unknown clause '" + tokens[i] + "'");
+            }
+        }
+        if (factor == null) {
+            throw new IllegalArgumentException("rule '" + name + "' has no adjust clause");
+        }
+        return new PricingRule(name, Set.copyOf(hotelIds), Set.copyOf(categories), Set.copyOf(days),
+                recurringFrom, recurringTo, periodFrom, periodTo, factor);
+    }
+
+    private static String[] range(String value) {
+        String[] range = value.split("\\.\\.");
+        if (range.length != 2) {
+            throw new IllegalArgumentException("expected a range 'from..to', got '" + value + "'");
+        }
+        return range;
+    }
+
+    private static DayOfWeek dayOfWeek(String token) {
+        String day = token.toUpperCase(Locale.ROOT);
+        for (DayOfWeek candidate : DayOfWeek.values()) {
+            if (candidate.name().startsWith(day) && day.length() >= 3) {
+                return candidate;
+            }
+        }
+        throw new IllegalArgumentException("unknown day '" + token + "'");
+    }
+
+    /**
+     * "+30%" becomes 1.3 and "-12.5%" becomes 0.875, kept exact
+     */
+    private static BigDecimal factor(String value) {
+        if (!value.endsWith("%")) {
+            throw new IllegalArgumentException("adjustment must be a percentage, got '" + value + "'");
+        }
+        BigDecimal percent = new BigDecimal(value.substring(0, value.length() - 1).replace("+", ""));
+        if (percent.scale() > 2) {
+            throw new IllegalArgumentException("adjustment allows at most two decimals");
+        }
+        BigDecimal factor = BigDecimal.ONE.add(percent.divide(HUNDRED)).stripTrailingZeros();
+        if (factor.signum() <= 0) {
+            throw new IllegalArgumentException("adjustment must leave a positive price");
+        }
+        return factor;
+    }
+}
@@ -0,0 +1,155 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Money;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of room quotes keyed by (roomId, checkIn, checkOut).
+ *
+ * Each entry is tagged with the room's basePrice and updatedAt, the
+ * pricing-rules version and the hotel occupancy tier it was computed under.
+ * A lookup whose tags no longer match counts as a miss and is recomputed, so
+ * room updates, rule reloads and occupancy changes invalidate without a purge. The cache is split into LRU segments, each
+ * with its own lock, to keep concurrent lookups from queueing on one monitor.
+ */
+@Component
+public class QuoteCache {
+
+    private static final int SEGMENTS = 16;
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final int maxEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public QuoteCache(@Value("${app.pricing.quote-cache.max-entries:50000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        int perSegment = Math.max(1, maxEntries / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Cached quote if it was computed for this exact room state and rule version
+     */
+    public RoomQuote get(Long roomId, LocalDate checkIn, LocalDate checkOut,
+                         Money basePrice, LocalDateTime updatedAt, long rulesVersion,
+                         int occupancyTier) {
+        Key key = new Key(roomId, checkIn, checkOut);
+        Entry entry = segmentFor(key).get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (!entry.matches(basePrice, updatedAt, rulesVersion, occupancyTier)) {
+            stale.increment();
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.quote;
+    }
+
+    public void put(RoomQuote quote, LocalDateTime updatedAt, long rulesVersion, int occupancyTier) {
+        Key key = new Key(quote.roomId(), quote.checkIn(), quote.checkOut());
+        segmentFor(key).put(key, new Entry(quote, updatedAt, rulesVersion, occupancyTier));
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getSize() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getStaleMisses() {
+        return stale.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private Segment segmentFor(Key key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (SEGMENTS - 1)];
+    }
+
+    private record Key(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+    }
+
+    private record Entry(RoomQuote quote, LocalDateTime updatedAt, long rulesVersion, int occupancyTier) {
+
+        boolean matches(Money basePrice, LocalDateTime roomUpdatedAt, long version, int tier) {
+            return rulesVersion == version
+                    && occupancyTier == tier
+                    && updatedAt.equals(roomUpdatedAt)
+                    && quote.basePrice().equals(basePrice);
+        }
+    }
+
+    private final class Segment {
+
+        private final Map<Key, Entry> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(Math.min(capacity, 1024), 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                    if (size() > capacity) {
+                        evictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized Entry get(Key key) {
+            return entries.get(key);
+        }
+
+        synchronized void put(Key key, Entry value) {
+            entries.put(key, value);
+        }
+
+        synchronized void clear() {
+            entries.clear();
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
@@ -4,12 +4,14 @@ import com.hotel.reservation.model.*;
 import com.hotel.reservation.repository.ReservationRepository;
 import com.hotel.reservation.repository.PaymentRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -23,6 +25,13 @@ public class ReservationService {
     private final PaymentRepository paymentRepository;
     private final RoomService roomService;
     private final UserService userService;
+    private final AvailabilityIndex availabilityIndex;
+    private final RoomNightService roomNightService;
+    private final RoomLockManager roomLockManager;
+    private final HoldExpiryScheduler holdExpiryScheduler;
+    private final HoldExpiryService holdExpiryService;
+    private final StatsCounters statsCounters;
+    private final RevenueAnalytics revenueAnalytics;
 
     /**
      * Create a new reservation with payment
@@ -37,13 +46,16 @@ public class ReservationService {
             throw new IllegalArgumentException("Invalid check-in or check-out dates");
         }
         
+        // Serialize bookings for this room until the transaction completes
+        roomLockManager.lockForTransaction(roomId);
+        
         // Check room availability
         if (!roomService.isRoomAvailable(roomId, checkIn, checkOut)) {
             throw new IllegalStateException("Room is not available for the selected dates");
         }
         
         // Get room and user
-        Room room = roomService.getRoomById(roomId)
+        Room room = roomService.getRoomForBooking(roomId)
                 .orElseThrow(() -> new IllegalArgumentException("Room not found"));
         
         User user = userService.getUserById(userId)
@@ -55,7 +67,8 @@ public class ReservationService {
         }
         
         // Calculate total amount
-        BigDecimal totalAmount = roomService.calculateTotalCost(room, checkIn, checkOut);
+        RoomQuote quote = roomService.quote(room, checkIn, checkOut);
+        BigDecimal totalAmount = quote.totalCost().toBigDecimal();
         
         // Create reservation
         Reservation reservation = Reservation.builder()
@@ -65,7 +78,9 @@ public class ReservationService {
                 .checkOutDate(checkOut)
                 .guestCount(guestCount)
                 .totalAmount(totalAmount)
+                .roomAmount(quote.totalRoomPrice().toBigDecimal())
                 .status("PENDING")
+                .holdExpiresAt(holdExpiryScheduler.newHoldDeadline())
                 .bookingReference(generateBookingReference())
                 .confirmationNumber(generateConfirmationNumber())
                 .guestName(guestName != null ? guestName : user.getFullName())
@@ -75,6 +90,13 @@ public class ReservationService {
                 .build();
         
         reservation = reservationRepository.save(reservation);
+        Long reservationId = reservation.getId();
+        
+        // Claim room nights; a concurrent booking of the same night fails here
+        roomNightService.claimNights(reservationId, roomId, checkIn, checkOut);
+        AfterCommit.run(() -> availabilityIndex.hold(reservationId, roomId, checkIn, checkOut));
+        AfterCommit.run(() -> statsCounters.reservationCreated("PENDING", totalAmount));
+        holdExpiryScheduler.scheduleAfterCommit(reservationId, reservation.getHoldExpiresAt());
         
         // Create initial payment record
         Payment payment = Payment.builder()
@@ -114,11 +136,13 @@ public class ReservationService {
             payment.setStatus(PaymentStatus.COMPLETED);
             payment.setProcessedAt(LocalDateTime.now());
             
-            // Update reservation
-            reservation.setStatus("CONFIRMED");
+            // Confirm only if the hold is still live; an expired hold's nights may be booked again
+            if (!holdExpiryService.confirmHold(reservation)) {
+                throw new IllegalStateException("Reservation hold has expired");
+            }
             
             paymentRepository.save(payment);
-            reservationRepository.save(reservation);
+            afterTransition(reservation, "PENDING");
             
             return payment;
         } else {
@@ -139,6 +163,14 @@ public class ReservationService {
      * Cancel reservation
      */
     public boolean cancelReservation(Long reservationId, Long userId) {
+        Optional<Long> lockedRoomId = reservationRepository.findRoomIdById(reservationId);
+        
+        if (lockedRoomId.isEmpty()) {
+            return false;
+        }
+        
+        // Lock before reading the status so concurrent cancels see each other
+        roomLockManager.lockForTransaction(lockedRoomId.get());
         Optional<Reservation> reservationOpt = reservationRepository.findById(reservationId);
         
         if (reservationOpt.isEmpty()) {
@@ -153,7 +185,8 @@ public class ReservationService {
         }
         
         // Check if cancellation is allowed
-        if ("CANCELLED".equals(reservation.getStatus()) || "COMPLETED".equals(reservation.getStatus())) {
+        if ("CANCELLED".equals(reservation.getStatus()) || "COMPLETED".equals(reservation.getStatus())
+                || "EXPIRED".equals(reservation.getStatus())) {
             throw new IllegalStateException("Cannot cancel reservation in current status");
         }
         
@@ -161,6 +194,7 @@ public class ReservationService {
         boolean isRefundable = isRefundEligible(reservation);
         
         // Cancel reservation
+        String previousStatus = reservation.getStatus();
         reservation.setStatus("CANCELLED");
         reservation.setCancelledAt(LocalDateTime.now());
         
@@ -170,6 +204,10 @@ public class ReservationService {
         }
         
         reservationRepository.save(reservation);
+        roomNightService.releaseNights(reservationId);
+        Long roomId = reservation.getRoom().getId();
+        AfterCommit.run(() -> availabilityIndex.release(reservationId, roomId));
+        afterTransition(reservation, previousStatus);
         return true;
     }
 
@@ -180,6 +218,28 @@ public class ReservationService {
         return reservationRepository.findByUserIdOrderByCreatedAtDesc(userId);
     }
 
+    /**
+     * Page through a user's reservations, newest first; cursor is null for the first page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Reservation> getUserReservationsPage(Long userId, String cursor, int limit) {
+        PageRequest page = PageRequest.ofSize(limit + 1);
+        List<Reservation> reservations;
+        if (cursor == null) {
+            reservations = reservationRepository.findUserFirstPage(userId, page);
+        } else {
+            String[] key = PageCursor.decode(cursor, "user-reservations", 2);
+            try {
+                reservations = reservationRepository.findUserPageBefore(userId,
+                        LocalDateTime.parse(key[0]), Long.valueOf(key[1]), page);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        return CursorPage.of(reservations, limit, reservation ->
+                PageCursor.encode("user-reservations", reservation.getCreatedAt(), reservation.getId()));
+    }
+
     /**
      * Get reservation by ID
      */
@@ -212,6 +272,7 @@ public class ReservationService {
         reservation.setStatus("CHECKED_IN");
         reservation.setActualCheckIn(LocalDateTime.now());
         
+        afterTransition(reservation, "CONFIRMED");
         return reservationRepository.save(reservation);
     }
 
@@ -229,6 +290,14 @@ public class ReservationService {
         reservation.setStatus("COMPLETED");
         reservation.setActualCheckOut(LocalDateTime.now());
         
+        // Early departure frees the remaining nights
+        Long roomId = reservation.getRoom().getId();
+        LocalDate lastDay = AvailabilityIndex.effectiveEnd(reservation.getCheckOutDate(),
+                reservation.getStatus(), reservation.getActualCheckOut());
+        roomNightService.releaseNightsFrom(reservationId, lastDay);
+        AfterCommit.run(() -> availabilityIndex.trim(reservationId, roomId, lastDay));
+        afterTransition(reservation, "CHECKED_IN");
+        
         return reservationRepository.save(reservation);
     }
 
@@ -239,24 +308,69 @@ public class ReservationService {
         return reservationRepository.findByCheckInDateBetween(startDate, endDate);
     }
 
+    /**
+     * Page through reservations checking in within the range, by check-in date
+     * then id; cursor is null for the first page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Reservation> getReservationsByDateRangePage(LocalDate startDate, LocalDate endDate,
+                                                                  String cursor, int limit) {
+        LocalDate afterCheckIn = startDate;
+        Long afterId = 0L;
+        if (cursor != null) {
+            String[] key = PageCursor.decode(cursor, "check-ins", 2);
+            try {
+                afterCheckIn = LocalDate.parse(key[0]);
+                afterId = Long.valueOf(key[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        List<Reservation> reservations = reservationRepository.findCheckInPageAfter(startDate, endDate,
+                afterCheckIn, afterId, PageRequest.ofSize(limit + 1));
+        return CursorPage.of(reservations, limit, reservation ->
+                PageCursor.encode("check-ins", reservation.getCheckInDate(), reservation.getId()));
+    }
+
     /**
      * Get reservation statistics
      */
     public long getTotalReservations() {
+        if (statsCounters.isWarm()) {
+            return statsCounters.totalReservations();
+        }
         return reservationRepository.count();
     }
 
     public long getActiveReservations() {
-        return reservationRepository.countByStatusIn(List.of("CONFIRMED", "CHECKED_IN"));
+        if (statsCounters.isWarm()) {
+            return statsCounters.activeReservations();
+        }
+        return reservationRepository.countByStatusIn(StatsCounters.ACTIVE_STATUSES);
     }
 
     public BigDecimal getTotalRevenue() {
-        return reservationRepository.sumTotalAmountByStatus("COMPLETED")
+        if (statsCounters.isWarm()) {
+            return statsCounters.revenue().toBigDecimal();
+        }
+        return reservationRepository.sumTotalAmountByStatus(StatsCounters.REVENUE_STATUS)
                 .orElse(BigDecimal.ZERO);
     }
 
     // Helper methods
     
+    /**
+     * Feed a status change into the statistics and revenue aggregates once it commits
+     */
+    private void afterTransition(Reservation reservation, String previousStatus) {
+        String status = reservation.getStatus();
+        RevenueAnalytics.Stay stay = RevenueAnalytics.Stay.of(reservation);
+        AfterCommit.run(() -> {
+            statsCounters.reservationStatusChanged(previousStatus, status, stay.totalAmount());
+            revenueAnalytics.transition(stay, previousStatus, status);
+        });
+    }
+    
     private String generateBookingReference() {
         return "BK" + System.currentTimeMillis() + UUID.randomUUID().toString().substring(0, 6).toUpperCase();
     }
@@ -0,0 +1,355 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.model.Reservation;
+import com.hotel.reservation.model.Room;
+import com.hotel.reservation.repository.ReservationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Rolling per-hotel, per-night room-nights sold and room revenue, for ADR,
+ * RevPAR and occupancy reports.
+ *
+ * A reservation counts as sold while it is confirmed, checked in or
+ * completed. Reservation status transitions are fed in after they commit and
+ * add, replace or remove the stay's nights, keyed by reservation so applying
+ * one twice changes nothing. A completed stay ends at its actual check-out,
+ * as in AvailabilityIndex. Revenue is the room price before tax and the
+ * service fee, spread evenly over the nights to the cent; reservations stored
+ * without it fall back to the price derived from their total amount. Reports
+ * only read these aggregates, never the reservations table. Older nights are
+ * dropped hourly.
+ *
+ * The aggregates are rebuilt from the stays ending inside the retention
+ * window on startup, on request and periodically, which also corrects drift
+ * from writes made outside the services. A rebuild fills fresh aggregates
+ * while transitions keep going to the current ones, then replays the
+ * transitions applied while it read and swaps them in.
+ *
+ * Room-nights available are the hotel's current active rooms times the days
+ * reported, so past periods reflect today's inventory.
+ */
+@Component
+@Slf4j
+public class RevenueAnalytics {
+
+    public static final List<String> SOLD_STATUSES = List.of("CONFIRMED", "CHECKED_IN", "COMPLETED");
+    public static final int MAX_REPORT_DAYS = 366;
+
+    private static final NavigableMap<Long, DayTotals> NO_DAYS = Collections.emptyNavigableMap();
+
+    public enum Period {
+        DAY, MONTH
+    }
+
+    /**
+     * The parts of a reservation the aggregates need, captured before commit.
+     * checkOut is the day the stay actually ends.
+     */
+    public record Stay(Long reservationId, Long hotelId, LocalDate checkIn, LocalDate checkOut,
+                       BigDecimal roomAmount, BigDecimal totalAmount) {
+
+        public static Stay of(Reservation reservation) {
+            Room room = reservation.getRoom();
+            Long hotelId = room != null && room.getHotel() != null ? room.getHotel().getId() : null;
+            LocalDate end = reservation.getCheckOutDate() == null ? null : AvailabilityIndex.effectiveEnd(
+                    reservation.getCheckOutDate(), reservation.getStatus(), reservation.getActualCheckOut());
+            return new Stay(reservation.getId(), hotelId, reservation.getCheckInDate(), end,
+                    reservation.getRoomAmount(), reservation.getTotalAmount());
+        }
+    }
+
+    /**
+     * Sold stays by reservation id and the per-hotel night totals they add up to
+     */
+    private record Aggregates(Map<Long, Stay> stays, Map<Long, NavigableMap<Long, DayTotals>> hotels) {
+
+        Aggregates() {
+            this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+        }
+    }
+
+    private final ReservationRepository reservationRepository;
+    private final OccupancyCounters occupancyCounters;
+    private final RoomService roomService;
+    private final long retentionDays;
+
+    // Transitions apply under the read lock; a rebuild starts and swaps under the write lock
+    private final ReadWriteLock swapLock = new ReentrantReadWriteLock();
+    private final List<Consumer<Aggregates>> changesDuringRebuild = new ArrayList<>();
+
+    private volatile Aggregates aggregates = new Aggregates();
+    private volatile boolean rebuilding;
+    private volatile long firstDay;
+    private volatile boolean warm;
+
+    public RevenueAnalytics(ReservationRepository reservationRepository,
+                            OccupancyCounters occupancyCounters,
+                            RoomService roomService,
+                            @Value("${app.reports.retention-days:730}") long retentionDays) {
+        this.reservationRepository = reservationRepository;
+        this.occupancyCounters = occupancyCounters;
+        this.roomService = roomService;
+        this.retentionDays = retentionDays;
+        this.firstDay = LocalDate.now().minusDays(retentionDays).toEpochDay();
+    }
+
+    /**
+     * Rebuild the aggregates from the sold stays in the retention window
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.reports.reconcile-interval-ms:3600000}",
+            fixedDelayString = "${app.reports.reconcile-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public synchronized void rebuild() {
+        swapLock.writeLock().lock();
+        try {
+            changesDuringRebuild.clear();
+            rebuilding = true;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+
+        LocalDate since = LocalDate.now().minusDays(retentionDays);
+        Aggregates rebuilt = new Aggregates();
+        int stayCount;
+        try {
+            List<Object[]> stays = reservationRepository.findSoldStayRows(SOLD_STATUSES, since);
+            stayCount = stays.size();
+            firstDay = since.toEpochDay();
+            // Rows are (id, hotelId, checkIn, checkOut, status, actualCheckOut, roomAmount, totalAmount)
+            for (Object[] row : stays) {
+                LocalDate end = AvailabilityIndex.effectiveEnd((LocalDate) row[3], (String) row[4],
+                        (LocalDateTime) row[5]);
+                sell(rebuilt, new Stay((Long) row[0], (Long) row[1], (LocalDate) row[2], end,
+                        (BigDecimal) row[6], (BigDecimal) row[7]));
+            }
+        } catch (RuntimeException e) {
+            stopRecording();
+            throw e;
+        }
+
+        swapLock.writeLock().lock();
+        try {
+            for (Consumer<Aggregates> change : changesDuringRebuild) {
+                change.accept(rebuilt);
+            }
+            log.debug("Revenue aggregates rebuilt: {} stays since {}, {} transitions replayed",
+                    stayCount, since, changesDuringRebuild.size());
+            changesDuringRebuild.clear();
+            rebuilding = false;
+            aggregates = rebuilt;
+            if (!warm) {
+                warm = true;
+                log.info("Revenue aggregates built: {} stays across {} hotels since {}",
+                        stayCount, rebuilt.hotels().size(), since);
+            }
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Apply a committed status transition of a reservation. A transition
+     * between two sold statuses replaces the stay, e.g. when the guest checks
+     * out early.
+     */
+    public void transition(Stay stay, String from, String to) {
+        if (SOLD_STATUSES.contains(to)) {
+            apply(target -> sell(target, stay));
+        } else if (SOLD_STATUSES.contains(from)) {
+            apply(target -> unsell(target, stay.reservationId()));
+        }
+    }
+
+    /**
+     * One row per hotel and day or calendar month between from and to inclusive
+     */
+    public List<RevenueReportRow> report(Collection<Long> hotelIds, LocalDate from, LocalDate to, Period period) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Report range ends before it starts");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_REPORT_DAYS) {
+            throw new IllegalArgumentException("Report range is limited to " + MAX_REPORT_DAYS + " days");
+        }
+        if (from.toEpochDay() < firstDay) {
+            throw new IllegalArgumentException("Reports only cover the last " + retentionDays + " days");
+        }
+
+        Map<Long, NavigableMap<Long, DayTotals>> hotels = aggregates.hotels();
+        List<RevenueReportRow> rows = new ArrayList<>();
+        for (Long hotelId : hotelIds) {
+            NavigableMap<Long, DayTotals> days = hotels.getOrDefault(hotelId, NO_DAYS);
+            long rooms = occupancyCounters.activeRooms(hotelId);
+            LocalDate start = from;
+            while (!start.isAfter(to)) {
+                LocalDate end = start;
+                String label = start.toString();
+                if (period == Period.MONTH) {
+                    LocalDate monthEnd = start.with(TemporalAdjusters.lastDayOfMonth());
+                    end = monthEnd.isBefore(to) ? monthEnd : to;
+                    label = YearMonth.from(start).toString();
+                }
+                long sold = 0;
+                long revenue = 0;
+                for (DayTotals day : days.subMap(start.toEpochDay(), true, end.toEpochDay(), true).values()) {
+                    sold += day.roomNights.sum();
+                    revenue += day.revenueMinor.sum();
+                }
+                long available = rooms * (ChronoUnit.DAYS.between(start, end) + 1);
+                rows.add(row(hotelId, label, start, end, available, sold, revenue));
+                start = end.plusDays(1);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Drop nights that fell out of the retention window
+     */
+    @Scheduled(fixedDelayString = "PT1H")
+    public void purgeExpired() {
+        long cutoff = LocalDate.now().minusDays(retentionDays).toEpochDay();
+        firstDay = cutoff;
+        Aggregates current = aggregates;
+        // Stays ending by the cutoff have no nights left to take back
+        current.stays().values().removeIf(stay -> stay.checkOut() != null && stay.checkOut().toEpochDay() <= cutoff);
+        for (NavigableMap<Long, DayTotals> days : current.hotels().values()) {
+            days.headMap(cutoff).clear();
+        }
+    }
+
+    /**
+     * Apply a change to the live aggregates, and record it for replay if a rebuild is reading
+     */
+    private void apply(Consumer<Aggregates> change) {
+        swapLock.readLock().lock();
+        try {
+            change.accept(aggregates);
+            if (rebuilding) {
+                synchronized (changesDuringRebuild) {
+                    changesDuringRebuild.add(change);
+                }
+            }
+        } finally {
+            swapLock.readLock().unlock();
+        }
+    }
+
+    private void stopRecording() {
+        swapLock.writeLock().lock();
+        try {
+            changesDuringRebuild.clear();
+            rebuilding = false;
+        } finally {
+            swapLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Count a stay as sold, replacing its previous nights if it already was
+     */
+    private void sell(Aggregates target, Stay stay) {
+        if (stay.reservationId() == null) {
+            return;
+        }
+        target.stays().compute(stay.reservationId(), (id, previous) -> {
+            if (previous != null) {
+                add(target, previous, -1);
+            }
+            add(target, stay, 1);
+            return stay;
+        });
+    }
+
+    private void unsell(Aggregates target, Long reservationId) {
+        if (reservationId == null) {
+            return;
+        }
+        target.stays().computeIfPresent(reservationId, (id, previous) -> {
+            add(target, previous, -1);
+            return null;
+        });
+    }
+
+    private void add(Aggregates target, Stay stay, int sign) {
+        if (stay.hotelId() == null || stay.checkIn() == null || stay.checkOut() == null) {
+            return;
+        }
+        long checkIn = stay.checkIn().toEpochDay();
+        long nights = Math.max(0, stay.checkOut().toEpochDay() - checkIn);
+        long total = roomRevenue(stay).minor();
+        // Nights share the amount evenly; the first ones take the leftover cents.
+        // A stay that ended on its check-in day books its revenue there without a night sold.
+        long shares = Math.max(1, nights);
+        long perNight = Math.floorDiv(total, shares);
+        long leftover = Math.floorMod(total, shares);
+
+        NavigableMap<Long, DayTotals> days = target.hotels().computeIfAbsent(stay.hotelId(),
+                id -> new ConcurrentSkipListMap<>());
+        for (long night = 0; night < shares; night++) {
+            long day = checkIn + night;
+            if (day < firstDay) {
+                continue;
+            }
+            DayTotals totals = days.computeIfAbsent(day, d -> new DayTotals());
+            if (night < nights) {
+                totals.roomNights.add(sign);
+            }
+            totals.revenueMinor.add(sign * (perNight + (night < leftover ? 1 : 0)));
+        }
+    }
+
+    private Money roomRevenue(Stay stay) {
+        if (stay.roomAmount() != null) {
+            return Money.of(stay.roomAmount());
+        }
+        return stay.totalAmount() == null ? Money.ZERO : roomService.roomPriceOf(Money.of(stay.totalAmount()));
+    }
+
+    private static RevenueReportRow row(Long hotelId, String period, LocalDate from, LocalDate to,
+                                        long available, long sold, long revenue) {
+        BigDecimal occupancy = available == 0 ? BigDecimal.ZERO.setScale(2)
+                : BigDecimal.valueOf(sold * 100).divide(BigDecimal.valueOf(available), 2, RoundingMode.HALF_UP);
+        Money total = Money.ofMinor(revenue);
+        Money adr = sold == 0 ? Money.ZERO : total.times(1, sold);
+        Money revpar = available == 0 ? Money.ZERO : total.times(1, available);
+        return new RevenueReportRow(hotelId, period, from, to, available, sold, occupancy, total, adr, revpar);
+    }
+
+    private static final class DayTotals {
+
+        final LongAdder roomNights = new LongAdder();
+        final LongAdder revenueMinor = new LongAdder();
+    }
+}
@@ -0,0 +1,23 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Revenue KPIs of one hotel over one day or month of a report range.
+ * ADR is revenue per room-night sold, RevPAR revenue per room-night available.
+ */
+public record RevenueReportRow(
+        Long hotelId,
+        String period,
+        LocalDate from,
+        LocalDate to,
+        long roomNightsAvailable,
+        long roomNightsSold,
+        BigDecimal occupancyPercent,
+        Money revenue,
+        Money adr,
+        Money revpar) {
+}
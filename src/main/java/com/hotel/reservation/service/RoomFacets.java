@@ -0,0 +1,111 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Facet counts of a room search, for rendering filter chips.
+ *
+ * Counts are disjunctive: each facet counts the available rooms that match
+ * every filter except its own, so a chip shows how many rooms selecting it
+ * would give. Capacity counts are by exact capacity; price buckets are by
+ * nightly base price.
+ */
+public record RoomFacets(
+        Map<String, Integer> categories,
+        Map<Integer, Integer> capacities,
+        Map<Long, Integer> hotels,
+        List<PriceBucket> priceBuckets) {
+
+    /**
+     * Rooms priced from (inclusive) up to to (exclusive); to is null for the top bucket
+     */
+    public record PriceBucket(Money from, Money to, int count) {
+    }
+
+    /**
+     * Accumulates the result set and all facets in one pass over available rooms
+     */
+    static final class Counter {
+
+        private final Integer capacity;
+        private final String category;
+        private final Long hotelId;
+        private final Money minPrice;
+        private final Money maxPrice;
+        private final List<Money> priceEdges;
+
+        private final Map<String, Integer> categories = new TreeMap<>();
+        private final Map<Integer, Integer> capacities = new TreeMap<>();
+        private final Map<Long, Integer> hotels = new TreeMap<>();
+        private final int[] buckets;
+
+        /**
+         * Null filters match every room. Price edges must be ascending.
+         */
+        Counter(Integer capacity, String category, Long hotelId, Money minPrice, Money maxPrice,
+                List<Money> priceEdges) {
+            this.capacity = capacity;
+            this.category = category;
+            this.hotelId = hotelId;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+            this.priceEdges = priceEdges;
+            this.buckets = new int[priceEdges.size() + 1];
+        }
+
+        /**
+         * Count an available room; true if it matches every filter
+         */
+        boolean accept(Long roomHotelId, Integer roomCapacity, String roomCategory, Money price) {
+            boolean capacityMatches = capacity == null || (roomCapacity != null && roomCapacity >= capacity);
+            boolean categoryMatches = category == null || category.equals(roomCategory);
+            boolean hotelMatches = hotelId == null || hotelId.equals(roomHotelId);
+            boolean priceMatches = price != null
+                    && (minPrice == null || price.compareTo(minPrice) >= 0)
+                    && (maxPrice == null || price.compareTo(maxPrice) <= 0);
+
+            int misses = (capacityMatches ? 0 : 1) + (categoryMatches ? 0 : 1)
+                    + (hotelMatches ? 0 : 1) + (priceMatches ? 0 : 1);
+            if (misses > 1) {
+                return false;
+            }
+            if (categoryMatches && hotelMatches && priceMatches && roomCapacity != null) {
+                capacities.merge(roomCapacity, 1, Integer::sum);
+            }
+            if (capacityMatches && hotelMatches && priceMatches && roomCategory != null) {
+                categories.merge(roomCategory, 1, Integer::sum);
+            }
+            if (capacityMatches && categoryMatches && priceMatches && roomHotelId != null) {
+                hotels.merge(roomHotelId, 1, Integer::sum);
+            }
+            if (capacityMatches && categoryMatches && hotelMatches && price != null) {
+                buckets[bucketOf(price)]++;
+            }
+            return misses == 0;
+        }
+
+        RoomFacets build() {
+            List<PriceBucket> priceBuckets = new ArrayList<>(buckets.length);
+            Money from = Money.ZERO;
+            for (int i = 0; i < buckets.length; i++) {
+                Money to = i < priceEdges.size() ? priceEdges.get(i) : null;
+                priceBuckets.add(new PriceBucket(from, to, buckets[i]));
+                from = to;
+            }
+            return new RoomFacets(categories, capacities, hotels, priceBuckets);
+        }
+
+        private int bucketOf(Money price) {
+            int bucket = 0;
+            while (bucket < priceEdges.size() && price.compareTo(priceEdges.get(bucket)) >= 0) {
+                bucket++;
+            }
+            return bucket;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.hotel.reservation.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Striped per-room locks for the booking critical section. Bookings for
+ * different rooms almost always land on different stripes and run in
+ * parallel; bookings for the same room are served in arrival order.
+ *
+ * Locks are held until the surrounding transaction completes, so the next
+ * booker only runs its availability check after the previous insert is
+ * committed and the indexes are updated.
+ */
+@Component
+@Slf4j
+public class RoomLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+    private final long timeoutMillis;
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder contended = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public RoomLockManager(@Value("${app.booking.lock.stripes:64}") int stripeCount,
+                           @Value("${app.booking.lock.timeout-ms:2000}") long timeoutMillis) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.mask = size - 1;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Lock the room's stripe until the current transaction commits or rolls back
+     */
+    public void lockForTransaction(Long roomId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Room locks require an active transaction");
+        }
+        ReentrantLock lock = stripeFor(roomId);
+        acquire(lock, roomId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lock.unlock();
+            }
+        });
+    }
+
+    private void acquire(ReentrantLock lock, Long roomId) {
+        acquisitions.increment();
+        if (lock.tryLock()) {
+            return;
+        }
+        contended.increment();
+        long start = System.nanoTime();
+        try {
+            boolean acquired = lock.tryLock(timeoutMillis, TimeUnit.MILLISECONDS);
+            waitNanos.add(System.nanoTime() - start);
+            if (!acquired) {
+                timeouts.increment();
+                log.warn("Timed out after {} ms waiting for booking lock on room {}", timeoutMillis, roomId);
+                throw new IllegalStateException("Room is busy, please try again");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for room lock");
+        }
+    }
+
+    private ReentrantLock stripeFor(Long roomId) {
+        int h = roomId.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & mask];
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.sum();
+    }
+
+    public long getContendedAcquisitions() {
+        return contended.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum());
+    }
+}
@@ -0,0 +1,90 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.RoomNight;
+import com.hotel.reservation.repository.RoomNightRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Room-night inventory. Every reservation owns one row per night it sells,
+ * and the unique (room_id, night) constraint turns a double booking into a
+ * failed insert inside the booking transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+@Slf4j
+public class RoomNightService {
+
+    private final RoomNightRepository roomNightRepository;
+
+    /**
+     * Claim the nights [checkIn, checkOut) for a reservation. Must run in the
+     * same transaction as the reservation insert.
+     */
+    public void claimNights(Long reservationId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        try {
+            roomNightRepository.saveAllAndFlush(nightsOf(reservationId, roomId, checkIn, checkOut));
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Room is not available for the selected dates");
+        }
+    }
+
+    /**
+     * Return every night of a reservation to inventory
+     */
+    public void releaseNights(Long reservationId) {
+        roomNightRepository.deleteByReservationId(reservationId);
+    }
+
+    /**
+     * Return the nights from the given date onward, e.g. after an early check-out
+     */
+    public void releaseNightsFrom(Long reservationId, LocalDate from) {
+        roomNightRepository.deleteByReservationIdFrom(reservationId, from);
+    }
+
+    /**
+     * Fill room_nights for upcoming stays booked before the table existed.
+     * Nights that are already taken are logged and skipped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Object[]> stays = roomNightRepository.findStaysWithoutNights(LocalDate.now());
+        for (Object[] row : stays) {
+            Long reservationId = (Long) row[0];
+            Long roomId = (Long) row[1];
+            for (RoomNight night : nightsOf(reservationId, roomId, (LocalDate) row[2], (LocalDate) row[3])) {
+                if (roomNightRepository.existsByRoomIdAndNight(roomId, night.getNight())) {
+                    log.warn("Room {} is double-booked on {} (reservation {})", roomId, night.getNight(), reservationId);
+                } else {
+                    roomNightRepository.save(night);
+                }
+            }
+        }
+        if (!stays.isEmpty()) {
+            log.info("Backfilled room nights for {} reservations", stays.size());
+        }
+    }
+
+    private List<RoomNight> nightsOf(Long reservationId, Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        List<RoomNight> nights = new ArrayList<>();
+        for (LocalDate night = checkIn; night.isBefore(checkOut); night = night.plusDays(1)) {
+            nights.add(RoomNight.builder()
+                    .roomId(roomId)
+                    .night(night)
+                    .reservationId(reservationId)
+                    .build());
+        }
+        return nights;
+    }
+}
@@ -0,0 +1,19 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Money;
+
+/**
+ * One bookable room for a stay, flattened with its hotel and priced.
+ * totalPrice includes taxes and fees; amounts serialize as decimals.
+ */
+public record RoomOffer(
+        Long hotelId,
+        String hotelName,
+        Double hotelRating,
+        Long roomId,
+        String roomNumber,
+        String category,
+        Integer capacity,
+        Money basePrice,
+        Money totalPrice) {
+}
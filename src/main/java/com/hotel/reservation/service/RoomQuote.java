@@ -0,0 +1,19 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Money;
+
+import java.time.LocalDate;
+
+/**
+ * Price of one room for one stay, with taxes and fees broken out.
+ * Amounts serialize as decimals.
+ */
+public record RoomQuote(
+        Long roomId,
+        Money basePrice,
+        Money totalRoomPrice,
+        Money taxesAndFees,
+        Money totalCost,
+        LocalDate checkIn,
+        LocalDate checkOut) {
+}
@@ -0,0 +1,11 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Room;
+
+import java.util.List;
+
+/**
+ * Available rooms matching a search, with facet counts for the filter chips
+ */
+public record RoomSearchResult(List<Room> rooms, RoomFacets facets) {
+}
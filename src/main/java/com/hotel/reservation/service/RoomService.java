@@ -1,17 +1,21 @@
 package com.hotel.reservation.service;
 
+import com.hotel.reservation.model.Money;
 import com.hotel.reservation.model.Room;
 import com.hotel.reservation.repository.RoomRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.DayOfWeek;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -19,19 +23,79 @@ import java.util.Optional;
 @Transactional
 public class RoomService {
 
+    private static final Money SERVICE_FEE = Money.ofMinor(2500); // Fixed service fee
+
+    // Upper edges of the nightly price buckets shown as search facets
+    private static final List<Money> PRICE_BUCKET_EDGES = List.of(
+            Money.ofMinor(100000), Money.ofMinor(200000), Money.ofMinor(300000), Money.ofMinor(500000));
+
+    private static final Comparator<Room> BY_RATING = Comparator
+            .comparingDouble((Room room) -> room.getHotel() != null && room.getHotel().getRating() != null
+                    ? room.getHotel().getRating() : 0.0)
+            .reversed()
+            .thenComparing(Room::getId);
+
+    private static final Comparator<Room> BY_CAPACITY = Comparator
+            .comparingInt((Room room) -> room.getCapacity() != null ? room.getCapacity() : 0)
+            .reversed()
+            .thenComparing(Room::getId);
+
+    private static final Comparator<PricedRoom> BY_TOTAL = Comparator
+            .comparing(PricedRoom::totalCost)
+            .thenComparing(priced -> priced.room().getId());
+
+    /**
+     * Search result orderings: cheapest stay first, best-rated hotel first, largest room first
+     */
+    public enum RoomSort {
+        PRICE, RATING, CAPACITY
+    }
+
     private final RoomRepository roomRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final PricingEngine pricingEngine;
+    private final QuoteCache quoteCache;
+    private final OccupancyPricing occupancyPricing;
+    private final HotelService hotelService;
+    private final AmenityDictionary amenityDictionary;
+    private final CatalogCache catalogCache;
 
     /**
      * Get all active rooms
      */
     public List<Room> getAllActiveRooms() {
+        if (catalogCache.isWarm()) {
+            return catalogCache.current().rooms();
+        }
         return roomRepository.findByIsActiveTrue();
     }
 
     /**
-     * Get room by ID
+     * Page through active rooms by id; cursor is null for the first page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Room> getActiveRoomsPage(String cursor, int limit) {
+        Long afterId = cursor == null ? 0L : PageCursor.decodeId(cursor, "rooms");
+        List<Room> rooms = roomRepository.findActivePage(afterId, PageRequest.ofSize(limit + 1));
+        return CursorPage.of(rooms, limit, room -> PageCursor.encode("rooms", room.getId()));
+    }
+
+    /**
+     * Get room by ID. May return the catalog snapshot's shared copy: read it,
+     * never modify it; writes load their target with findById.
      */
     public Optional<Room> getRoomById(Long id) {
+        if (catalogCache.isWarm()) {
+            return Optional.ofNullable(catalogCache.current().room(id));
+        }
+        return roomRepository.findByIdAndIsActiveTrue(id);
+    }
+
+    /**
+     * Load an active room from the database, for writes that reference it;
+     * getRoomById may return a read-only catalog copy
+     */
+    public Optional<Room> getRoomForBooking(Long id) {
         return roomRepository.findByIdAndIsActiveTrue(id);
     }
 
@@ -39,13 +103,29 @@ public class RoomService {
      * Get rooms by hotel ID
      */
     public List<Room> getRoomsByHotelId(Long hotelId) {
+        if (catalogCache.isWarm()) {
+            return catalogCache.current().roomsOfHotel(hotelId);
+        }
         return roomRepository.findByHotelIdAndIsActiveTrue(hotelId);
     }
 
+    /**
+     * Page through a hotel's active rooms by id; cursor is null for the first page
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Room> getRoomsByHotelIdPage(Long hotelId, String cursor, int limit) {
+        Long afterId = cursor == null ? 0L : PageCursor.decodeId(cursor, "rooms");
+        List<Room> rooms = roomRepository.findActivePageByHotel(hotelId, afterId, PageRequest.ofSize(limit + 1));
+        return CursorPage.of(rooms, limit, room -> PageCursor.encode("rooms", room.getId()));
+    }
+
     /**
      * Search rooms by category
      */
     public List<Room> getRoomsByCategory(String category) {
+        if (catalogCache.isWarm()) {
+            return catalogCache.current().roomsInCategory(category);
+        }
         return roomRepository.findByCategoryAndIsActiveTrue(category);
     }
 
@@ -67,6 +147,9 @@ public class RoomService {
      * Find available rooms for date range
      */
     public List<Room> findAvailableRooms(LocalDate checkIn, LocalDate checkOut) {
+        if (availabilityIndex.isWarm()) {
+            return loadRooms(availabilityIndex.findAvailableRoomIds(checkIn, checkOut, null, null, null));
+        }
         return roomRepository.findAvailableRoomsForDateRange(checkIn, checkOut);
     }
 
@@ -79,72 +162,239 @@ public class RoomService {
             Integer capacity,
             String category,
             Long hotelId) {
+        if (availabilityIndex.isWarm()) {
+            return loadRooms(availabilityIndex.findAvailableRoomIds(checkIn, checkOut, capacity, category, hotelId));
+        }
         return roomRepository.findAvailableRoomsWithFilters(checkIn, checkOut, capacity, category, hotelId);
     }
 
     /**
-     * Calculate dynamic pricing for a room
+     * Find available rooms with filters, also requiring every listed amenity
+     * (comma-separated, case-insensitive)
      */
-    public BigDecimal calculateDynamicPrice(Room room, LocalDate checkIn, LocalDate checkOut) {
-        BigDecimal basePrice = room.getBasePrice();
-        long nights = ChronoUnit.DAYS.between(checkIn, checkOut);
-        
-        if (nights <= 0) {
-            return basePrice;
+    public List<Room> findAvailableRoomsWithFilters(
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Integer capacity,
+            String category,
+            Long hotelId,
+            String amenities) {
+        AmenityFilter filter = amenityDictionary.filterFor(amenities);
+        if (filter.isEmpty()) {
+            return findAvailableRoomsWithFilters(checkIn, checkOut, capacity, category, hotelId);
         }
+        if (availabilityIndex.isWarm() && filter.fullyIndexed()) {
+            return loadRooms(availabilityIndex.findAvailableRoomIds(
+                    checkIn, checkOut, capacity, category, hotelId, filter));
+        }
+        List<Room> rooms = new ArrayList<>(findAvailableRoomsWithFilters(checkIn, checkOut, capacity, category, hotelId));
+        rooms.removeIf(room -> !filter.matches(room.getAmenityMask(), room.getAmenities()));
+        return rooms;
+    }
 
-        BigDecimal totalPrice = BigDecimal.ZERO;
-        LocalDate currentDate = checkIn;
+    /**
+     * Find available rooms with filters, keeping the best limit rooms by the
+     * sort order (all rooms when limit is null; id order when sort is null)
+     */
+    public List<Room> findAvailableRoomsSorted(
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Integer capacity,
+            String category,
+            Long hotelId,
+            String amenities,
+            RoomSort sort,
+            Integer limit) {
+        List<Room> rooms = findAvailableRoomsWithFilters(checkIn, checkOut, capacity, category, hotelId, amenities);
+        int k = limit == null ? rooms.size() : Math.min(limit, rooms.size());
+        if (k <= 0) {
+            return List.of();
+        }
+        if (sort == null) {
+            return new ArrayList<>(rooms.subList(0, k));
+        }
+        return switch (sort) {
+            case PRICE -> cheapest(rooms, checkIn, checkOut, k);
+            case RATING -> TopK.select(rooms, k, BY_RATING);
+            case CAPACITY -> TopK.select(rooms, k, BY_CAPACITY);
+        };
+    }
 
-        while (currentDate.isBefore(checkOut)) {
-            BigDecimal nightPrice = basePrice;
+    /**
+     * Search bookable rooms across hotels in one query and price them for the
+     * stay, cheapest total first. Rows are flat projections, so no hotel or
+     * room entity is loaded.
+     */
+    @Transactional(readOnly = true)
+    public List<RoomOffer> searchOffers(
+            LocalDate checkIn,
+            LocalDate checkOut,
+            String location,
+            Long hotelId,
+            Integer capacity,
+            String category,
+            Double minRating,
+            int limit) {
+        String place = location == null || location.isBlank() ? null : location.strip();
+        List<Object[]> rows = roomRepository.findOfferRows(checkIn, checkOut, place, hotelId, capacity, category, minRating);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Integer> tiers = new HashMap<>();
+        TopK<RoomOffer> cheapest = new TopK<>(Math.min(limit, rows.size()), Comparator
+                .comparing(RoomOffer::totalPrice)
+                .thenComparing(RoomOffer::roomId));
+        for (Object[] row : rows) {
+            Long rowHotelId = (Long) row[0];
+            String rowCategory = (String) row[5];
+            BigDecimal basePrice = (BigDecimal) row[7];
+            int tier = tiers.computeIfAbsent(rowHotelId, id -> occupancyPricing.tierFor(id, checkIn, checkOut));
+            Money total = addTaxesAndFees(roomPrice(basePrice, rowHotelId, rowCategory, checkIn, checkOut, tier));
+            cheapest.offer(new RoomOffer(rowHotelId, (String) row[1], (Double) row[2], (Long) row[3],
+                    (String) row[4], rowCategory, (Integer) row[6], Money.of(basePrice), total));
+        }
+        return cheapest.sorted();
+    }
 
-            // Weekend pricing (Friday, Saturday)
-            if (currentDate.getDayOfWeek() == DayOfWeek.FRIDAY || 
-                currentDate.getDayOfWeek() == DayOfWeek.SATURDAY) {
-                nightPrice = nightPrice.multiply(BigDecimal.valueOf(1.3)); // +30%
+    /**
+     * Find available rooms with filters, counting category, capacity, hotel and
+     * price facets in the same pass over the available rooms
+     */
+    public RoomSearchResult searchWithFacets(
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Integer capacity,
+            String category,
+            Long hotelId,
+            BigDecimal minPrice,
+            BigDecimal maxPrice) {
+        RoomFacets.Counter counter = new RoomFacets.Counter(capacity, category, hotelId,
+                minPrice != null ? Money.of(minPrice) : null,
+                maxPrice != null ? Money.of(maxPrice) : null,
+                PRICE_BUCKET_EDGES);
+        if (availabilityIndex.isWarm()) {
+            List<Room> rooms = loadRooms(availabilityIndex.findAvailableRoomIds(checkIn, checkOut, counter));
+            return new RoomSearchResult(rooms, counter.build());
+        }
+        List<Room> rooms = new ArrayList<>();
+        for (Room room : roomRepository.findAvailableRoomsForDateRange(checkIn, checkOut)) {
+            Money price = room.getBasePrice() != null ? Money.of(room.getBasePrice()) : null;
+            if (counter.accept(hotelIdOf(room), room.getCapacity(), room.getCategory(), price)) {
+                rooms.add(room);
             }
+        }
+        return new RoomSearchResult(rooms, counter.build());
+    }
 
-            // Holiday pricing (simplified - Christmas/New Year period)
-            int month = currentDate.getMonthValue();
-            int day = currentDate.getDayOfMonth();
-            if ((month == 12 && day >= 20) || (month == 1 && day <= 5)) {
-                nightPrice = nightPrice.multiply(BigDecimal.valueOf(1.5)); // +50%
-            }
+    /**
+     * Available rooms in hotels within radiusKm of a point, nearest hotel first
+     */
+    public List<NearbyRoom> findAvailableRoomsNear(
+            double latitude,
+            double longitude,
+            double radiusKm,
+            LocalDate checkIn,
+            LocalDate checkOut,
+            Integer capacity,
+            String category) {
+        Map<Long, Double> distances = new HashMap<>();
+        for (HotelGeoIndex.Hit hit : hotelService.findHotelHitsNear(latitude, longitude, radiusKm, null)) {
+            distances.put(hit.hotelId(), hit.distanceKm());
+        }
+        if (distances.isEmpty()) {
+            return List.of();
+        }
+        List<Room> rooms;
+        if (availabilityIndex.isWarm()) {
+            rooms = loadRooms(availabilityIndex.findAvailableRoomIdsInHotels(
+                    checkIn, checkOut, capacity, category, distances.keySet()));
+        } else {
+            rooms = new ArrayList<>(roomRepository.findAvailableRoomsWithFilters(
+                    checkIn, checkOut, capacity, category, null));
+            rooms.removeIf(room -> !distances.containsKey(hotelIdOf(room)));
+        }
+        List<NearbyRoom> nearby = new ArrayList<>(rooms.size());
+        for (Room room : rooms) {
+            nearby.add(new NearbyRoom(room, distances.get(hotelIdOf(room))));
+        }
+        nearby.sort(Comparator.comparingDouble(NearbyRoom::distanceKm)
+                .thenComparing(result -> result.room().getId()));
+        return nearby;
+    }
 
-            // Summer peak season (June-August)
-            if (month >= 6 && month <= 8) {
-                nightPrice = nightPrice.multiply(BigDecimal.valueOf(1.2)); // +20%
-            }
+    /**
+     * Calculate dynamic pricing for a room
+     */
+    public BigDecimal calculateDynamicPrice(Room room, LocalDate checkIn, LocalDate checkOut) {
+        if (!checkOut.isAfter(checkIn)) {
+            return room.getBasePrice();
+        }
+        return roomPrice(room, checkIn, checkOut, occupancyTier(room, checkIn, checkOut)).toBigDecimal();
+    }
 
-            // Premium category pricing
-            if ("Suite".equalsIgnoreCase(room.getCategory()) || 
-                "Presidential".equalsIgnoreCase(room.getCategory())) {
-                nightPrice = nightPrice.multiply(BigDecimal.valueOf(1.1)); // +10%
-            }
+    /**
+     * Calculate total cost including taxes and fees
+     */
+    public BigDecimal calculateTotalCost(Room room, LocalDate checkIn, LocalDate checkOut) {
+        return quote(room, checkIn, checkOut).totalCost().toBigDecimal();
+    }
 
-            totalPrice = totalPrice.add(nightPrice);
-            currentDate = currentDate.plusDays(1);
+    /**
+     * Quote a single room, pricing the stay once. Quotes of persisted rooms are
+     * cached and reused while the room, the pricing rules and the hotel's
+     * occupancy tier are unchanged.
+     */
+    public RoomQuote quote(Room room, LocalDate checkIn, LocalDate checkOut) {
+        boolean cacheable = room.getId() != null && room.getUpdatedAt() != null;
+        long rulesVersion = pricingEngine.getRulesVersion();
+        Money basePrice = Money.of(room.getBasePrice());
+        int occupancyTier = occupancyTier(room, checkIn, checkOut);
+        if (cacheable) {
+            RoomQuote cached = quoteCache.get(room.getId(), checkIn, checkOut,
+                    basePrice, room.getUpdatedAt(), rulesVersion, occupancyTier);
+            if (cached != null) {
+                return cached;
+            }
         }
 
-        return totalPrice.setScale(2, RoundingMode.HALF_UP);
+        Money roomPrice = roomPrice(room, checkIn, checkOut, occupancyTier);
+        Money totalCost = addTaxesAndFees(roomPrice);
+        RoomQuote quote = new RoomQuote(room.getId(), basePrice, roomPrice,
+                totalCost.minus(roomPrice), totalCost, checkIn, checkOut);
+        if (cacheable) {
+            quoteCache.put(quote, room.getUpdatedAt(), rulesVersion, occupancyTier);
+        }
+        return quote;
     }
 
     /**
-     * Calculate total cost including taxes and fees
+     * Quote many rooms for one stay, loading them in a single query.
+     * Unknown and inactive rooms are left out; order follows the requested ids.
      */
-    public BigDecimal calculateTotalCost(Room room, LocalDate checkIn, LocalDate checkOut) {
-        BigDecimal roomCost = calculateDynamicPrice(room, checkIn, checkOut);
-        BigDecimal taxes = roomCost.multiply(BigDecimal.valueOf(0.12)); // 12% tax
-        BigDecimal fees = BigDecimal.valueOf(25); // Fixed service fee
-        
-        return roomCost.add(taxes).add(fees).setScale(2, RoundingMode.HALF_UP);
+    public List<RoomQuote> quoteRooms(List<Long> roomIds, LocalDate checkIn, LocalDate checkOut) {
+        Map<Long, Room> rooms = new HashMap<>();
+        for (Room room : roomRepository.findAllById(roomIds)) {
+            if (Boolean.TRUE.equals(room.getIsActive())) {
+                rooms.put(room.getId(), room);
+            }
+        }
+        List<RoomQuote> quotes = new ArrayList<>(rooms.size());
+        for (Long roomId : new LinkedHashSet<>(roomIds)) {
+            Room room = rooms.get(roomId);
+            if (room != null) {
+                quotes.add(quote(room, checkIn, checkOut));
+            }
+        }
+        return quotes;
     }
 
     /**
      * Check if room is available for specific dates
      */
     public boolean isRoomAvailable(Long roomId, LocalDate checkIn, LocalDate checkOut) {
+        if (availabilityIndex.isWarm()) {
+            return availabilityIndex.isAvailable(roomId, checkIn, checkOut);
+        }
         List<Room> availableRooms = roomRepository.findAvailableRoomsForDateRange(checkIn, checkOut);
         return availableRooms.stream().anyMatch(room -> room.getId().equals(roomId));
     }
@@ -153,7 +403,13 @@ public class RoomService {
      * Create new room (Admin only)
      */
     public Room createRoom(Room room) {
-        return roomRepository.save(room);
+        room.setAmenityMask(amenityDictionary.maskOf(room.getAmenities()));
+        Room saved = roomRepository.save(room);
+        AfterCommit.run(() -> {
+            availabilityIndex.registerRoom(saved);
+            catalogCache.refresh();
+        });
+        return saved;
     }
 
     /**
@@ -168,9 +424,15 @@ public class RoomService {
                     room.setBasePrice(roomDetails.getBasePrice());
                     room.setDescription(roomDetails.getDescription());
                     room.setAmenities(roomDetails.getAmenities());
+                    room.setAmenityMask(amenityDictionary.maskOf(roomDetails.getAmenities()));
                     room.setImageUrl(roomDetails.getImageUrl());
                     room.setIsActive(roomDetails.getIsActive());
-                    return roomRepository.save(room);
+                    Room saved = roomRepository.save(room);
+                    AfterCommit.run(() -> {
+                        availabilityIndex.registerRoom(saved);
+                        catalogCache.refresh();
+                    });
+                    return saved;
                 });
     }
 
@@ -181,7 +443,11 @@ public class RoomService {
         return roomRepository.findById(id)
                 .map(room -> {
                     room.setIsActive(false);
-                    roomRepository.save(room);
+                    Room saved = roomRepository.save(room);
+                    AfterCommit.run(() -> {
+                        availabilityIndex.registerRoom(saved);
+                        catalogCache.refresh();
+                    });
                     return true;
                 })
                 .orElse(false);
@@ -191,13 +457,131 @@ public class RoomService {
      * Get room statistics
      */
     public long getTotalActiveRooms() {
-        return roomRepository.findByIsActiveTrue().size();
+        if (catalogCache.isWarm()) {
+            return catalogCache.current().rooms().size();
+        }
+        return roomRepository.countByIsActiveTrue();
     }
 
     /**
      * Get available room count for date range
      */
     public long getAvailableRoomCount(LocalDate checkIn, LocalDate checkOut) {
+        if (availabilityIndex.isWarm()) {
+            return availabilityIndex.findAvailableRoomIds(checkIn, checkOut, null, null, null).size();
+        }
         return roomRepository.findAvailableRoomsForDateRange(checkIn, checkOut).size();
     }
-}
\ No newline at end of file
+
+    /**
+     * The k rooms with the lowest total cost for the stay, cheapest first.
+     *
+     * Rooms sharing a hotel and category share pricing rules and occupancy
+     * tier, so their stay price never falls as the base price rises. Each such
+     * group is quoted cheapest base price first and abandoned at the first room
+     * costing more than the current k-th best, leaving the rest unpriced.
+     */
+    private List<Room> cheapest(List<Room> rooms, LocalDate checkIn, LocalDate checkOut, int k) {
+        Map<String, List<Room>> groups = new HashMap<>();
+        for (Room room : rooms) {
+            groups.computeIfAbsent(hotelIdOf(room) + "|" + room.getCategory(), key -> new ArrayList<>()).add(room);
+        }
+        TopK<PricedRoom> best = new TopK<>(k, BY_TOTAL);
+        for (List<Room> group : groups.values()) {
+            group.sort(Comparator.comparing(Room::getBasePrice).thenComparing(Room::getId));
+            for (Room room : group) {
+                PricedRoom priced = new PricedRoom(room, quote(room, checkIn, checkOut).totalCost());
+                if (!best.offer(priced) && priced.totalCost().compareTo(best.cutoff().totalCost()) > 0) {
+                    break;
+                }
+            }
+        }
+        List<Room> result = new ArrayList<>(k);
+        for (PricedRoom priced : best.sorted()) {
+            result.add(priced.room());
+        }
+        return result;
+    }
+
+    /**
+     * Add 12% tax and the fixed service fee to a room price
+     */
+    private Money addTaxesAndFees(Money roomCost) {
+        Money taxes = roomCost.times(12, 100); // 12% tax
+        
+        return roomCost.plus(taxes).plus(SERVICE_FEE);
+    }
+
+    /**
+     * The room price a total cost was built from by addTaxesAndFees, or the
+     * nearest one when rounding left no exact match
+     */
+    public Money roomPriceOf(Money totalCost) {
+        Money beforeFee = totalCost.minus(SERVICE_FEE);
+        Money estimate = beforeFee.times(100, 112);
+        for (long delta = -1; delta <= 1; delta++) {
+            Money candidate = estimate.plus(Money.ofMinor(delta));
+            if (candidate.plus(candidate.times(12, 100)).equals(beforeFee)) {
+                return candidate;
+            }
+        }
+        return estimate;
+    }
+
+    /**
+     * Room price for the stay before taxes and fees, with the occupancy surcharge
+     */
+    private Money roomPrice(Room room, LocalDate checkIn, LocalDate checkOut, int occupancyTier) {
+        return roomPrice(room.getBasePrice(), hotelIdOf(room), room.getCategory(), checkIn, checkOut, occupancyTier);
+    }
+
+    private Money roomPrice(BigDecimal basePrice, Long hotelId, String category,
+                            LocalDate checkIn, LocalDate checkOut, int occupancyTier) {
+        if (!checkOut.isAfter(checkIn)) {
+            return Money.of(basePrice);
+        }
+        Money price = pricingEngine.price(basePrice, hotelId, category, checkIn, checkOut);
+        return occupancyPricing.apply(price, occupancyTier);
+    }
+
+    private int occupancyTier(Room room, LocalDate checkIn, LocalDate checkOut) {
+        return occupancyPricing.tierFor(hotelIdOf(room), checkIn, checkOut);
+    }
+
+    private static Long hotelIdOf(Room room) {
+        return room.getHotel() != null ? room.getHotel().getId() : null;
+    }
+
+    /**
+     * Hydrate rooms picked by the availability index, keeping id order. Rooms
+     * come from the catalog snapshot; only ids it lacks go to the database.
+     */
+    private List<Room> loadRooms(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Room> rooms = new ArrayList<>(ids.size());
+        List<Long> missing = ids;
+        if (catalogCache.isWarm()) {
+            CatalogSnapshot catalog = catalogCache.current();
+            missing = new ArrayList<>();
+            for (Long id : ids) {
+                Room room = catalog.room(id);
+                if (room != null) {
+                    rooms.add(room);
+                } else {
+                    missing.add(id);
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            rooms.addAll(roomRepository.findAllById(missing));
+        }
+        rooms.removeIf(room -> !Boolean.TRUE.equals(room.getIsActive()));
+        rooms.sort(Comparator.comparing(Room::getId));
+        return rooms;
+    }
+
+    private record PricedRoom(Room room, Money totalCost) {
+    }
+}
@@ -0,0 +1,218 @@
+package com.hotel.reservation.service;
+
+import com.hotel.reservation.model.Money;
+import com.hotel.reservation.repository.ReservationRepository;
+import com.hotel.reservation.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running reservation and user totals for the admin statistics endpoints.
+ *
+ * The service write paths report each committed change (new reservation,
+ * status transition, new or deactivated user), so reads are a few counter
+ * sums instead of COUNT/SUM scans. Revenue is the total amount of completed
+ * reservations, held in minor units.
+ *
+ * A periodic pass recounts from the database and corrects any drift, e.g.
+ * from writes made outside the services. It only corrects when no update
+ * landed while it read, and a write committing during that read can still be
+ * counted twice until the next pass. Until the first pass succeeds the
+ * counters are cold and callers should read the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StatsCounters {
+
+    public static final List<String> ACTIVE_STATUSES = List.of("CONFIRMED", "CHECKED_IN");
+    public static final String REVENUE_STATUS = "COMPLETED";
+
+    private final ReservationRepository reservationRepository;
+    private final UserRepository userRepository;
+
+    private final Map<String, LongAdder> reservationsByStatus = new ConcurrentHashMap<>();
+    private final LongAdder revenueMinor = new LongAdder();
+    private final LongAdder users = new LongAdder();
+    private final LongAdder activeUsers = new LongAdder();
+
+    private volatile boolean warm;
+
+    /**
+     * Counter values at one moment; compared before and after a recount
+     */
+    private record Totals(Map<String, Long> reservationsByStatus, long revenueMinor, long users, long activeUsers) {
+    }
+
+    /**
+     * Recount from the database and correct the counters by the difference
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.stats.reconcile-interval-ms:300000}",
+            fixedDelayString = "${app.stats.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Totals before = totals();
+
+        Map<String, Long> statusCounts = new HashMap<>();
+        long revenue = 0;
+        // Rows are (status, count, sum of totalAmount)
+        for (Object[] row : reservationRepository.findStatusTotals()) {
+            String status = String.valueOf(row[0]);
+            statusCounts.put(status, (Long) row[1]);
+            if (REVENUE_STATUS.equals(status) && row[2] != null) {
+                revenue = Money.of((BigDecimal) row[2]).minor();
+            }
+        }
+        Totals database = new Totals(statusCounts, revenue, userRepository.count(), userRepository.countByIsActiveTrue());
+
+        if (!before.equals(totals())) {
+            log.debug("Statistics changed during reconcile, retrying on the next pass");
+            return;
+        }
+
+        boolean drifted = false;
+        Map<String, Long> statuses = new HashMap<>(database.reservationsByStatus());
+        before.reservationsByStatus().keySet().forEach(status -> statuses.putIfAbsent(status, 0L));
+        for (Map.Entry<String, Long> status : statuses.entrySet()) {
+            long delta = status.getValue() - before.reservationsByStatus().getOrDefault(status.getKey(), 0L);
+            if (delta != 0) {
+                counter(status.getKey()).add(delta);
+                drifted = true;
+            }
+        }
+        drifted |= correct(revenueMinor, database.revenueMinor() - before.revenueMinor());
+        drifted |= correct(users, database.users() - before.users());
+        drifted |= correct(activeUsers, database.activeUsers() - before.activeUsers());
+
+        if (drifted && warm) {
+            log.warn("Statistics drifted from the database and were corrected: was {}, now {}", before, database);
+        }
+        if (!warm) {
+            warm = true;
+            log.info("Statistics loaded: {}", database);
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Count a new reservation
+     */
+    public void reservationCreated(String status, BigDecimal totalAmount) {
+        counter(status).increment();
+        if (REVENUE_STATUS.equals(status)) {
+            revenueMinor.add(minor(totalAmount));
+        }
+    }
+
+    /**
+     * Move one reservation from one status to another
+     */
+    public void reservationStatusChanged(String from, String to, BigDecimal totalAmount) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        reservationsStatusChanged(from, to, 1);
+        if (REVENUE_STATUS.equals(from)) {
+            revenueMinor.add(-minor(totalAmount));
+        }
+        if (REVENUE_STATUS.equals(to)) {
+            revenueMinor.add(minor(totalAmount));
+        }
+    }
+
+    /**
+     * Move a batch of reservations between two statuses that do not count revenue
+     */
+    public void reservationsStatusChanged(String from, String to, long count) {
+        if (count == 0 || Objects.equals(from, to)) {
+            return;
+        }
+        counter(from).add(-count);
+        counter(to).add(count);
+    }
+
+    public void userRegistered(boolean active) {
+        users.increment();
+        if (active) {
+            activeUsers.increment();
+        }
+    }
+
+    public void userActiveChanged(boolean wasActive, boolean active) {
+        if (wasActive != active) {
+            activeUsers.add(active ? 1 : -1);
+        }
+    }
+
+    public long totalReservations() {
+        long total = 0;
+        for (LongAdder count : reservationsByStatus.values()) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    public long reservations(String status) {
+        LongAdder count = reservationsByStatus.get(status);
+        return count == null ? 0 : count.sum();
+    }
+
+    public long activeReservations() {
+        long total = 0;
+        for (String status : ACTIVE_STATUSES) {
+            total += reservations(status);
+        }
+        return total;
+    }
+
+    public Money revenue() {
+        return Money.ofMinor(revenueMinor.sum());
+    }
+
+    public long totalUsers() {
+        return users.sum();
+    }
+
+    public long activeUsers() {
+        return activeUsers.sum();
+    }
+
+    private Totals totals() {
+        Map<String, Long> statuses = new HashMap<>();
+        reservationsByStatus.forEach((status, count) -> statuses.put(status, count.sum()));
+        return new Totals(statuses, revenueMinor.sum(), users.sum(), activeUsers.sum());
+    }
+
+    private LongAdder counter(String status) {
+        return reservationsByStatus.computeIfAbsent(String.valueOf(status), s -> new LongAdder());
+    }
+
+    private static boolean correct(LongAdder counter, long delta) {
+        if (delta == 0) {
+            return false;
+        }
+        counter.add(delta);
+        return true;
+    }
+
+    private static long minor(BigDecimal amount) {
+        return amount == null ? 0 : Money.of(amount).minor();
+    }
+}
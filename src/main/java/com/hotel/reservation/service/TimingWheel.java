@@ -0,0 +1,114 @@
+package com.hotel.reservation.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Each level has 64 slots and every level's slot
+ * spans a full rotation of the level below, so four levels cover 64^4 ticks.
+ * Adding a timer is O(1); a timer is cascaded at most once per level before
+ * it fires, so expiry is O(1) amortized as well.
+ *
+ * Not thread-safe on its own; callers synchronize.
+ */
+final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final long SPAN = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final List<ArrayDeque<Timer<T>>[]> wheels = new ArrayList<>(LEVELS);
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+        for (int level = 0; level < LEVELS; level++) {
+            ArrayDeque<Timer<T>>[] slots = new ArrayDeque[SLOTS];
+            for (int i = 0; i < SLOTS; i++) {
+                slots[i] = new ArrayDeque<>();
+            }
+            wheels.add(slots);
+        }
+    }
+
+    /**
+     * Schedule an item; deadlines in the past fire on the next tick
+     */
+    void add(T item, long deadlineMillis) {
+        long deadlineTick = Math.max(currentTick + 1, (deadlineMillis + tickMillis - 1) / tickMillis);
+        place(new Timer<>(item, deadlineTick));
+        size++;
+    }
+
+    /**
+     * Advance the wheel to the given time and return every item that is due
+     */
+    List<T> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> due = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            ArrayDeque<Timer<T>> slot = wheels.get(0)[(int) (currentTick & SLOT_MASK)];
+            Timer<T> timer;
+            while ((timer = slot.poll()) != null) {
+                if (timer.deadlineTick() > currentTick) {
+                    place(timer);
+                } else {
+                    due.add(timer.item());
+                    size--;
+                }
+            }
+        }
+        return due;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Move the timers of every upper-level slot that starts at the current
+     * tick down into the levels below, highest level first
+     */
+    private void cascade() {
+        int top = 0;
+        while (top + 1 < LEVELS && (currentTick & ((1L << (SLOT_BITS * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level >= 1; level--) {
+            ArrayDeque<Timer<T>> slot = wheels.get(level)[slotIndex(currentTick, level)];
+            Timer<T> timer;
+            int pending = slot.size();
+            while (pending-- > 0 && (timer = slot.poll()) != null) {
+                place(timer);
+            }
+        }
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.deadlineTick() - currentTick;
+        // Timers beyond the top level park in its farthest slot and are re-placed when it cascades
+        long placeTick = delta >= SPAN ? currentTick + SPAN - 1 : timer.deadlineTick();
+        delta = placeTick - currentTick;
+        int level = 0;
+        while (level + 1 < LEVELS && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        wheels.get(level)[slotIndex(placeTick, level)].add(timer);
+    }
+
+    private static int slotIndex(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+    }
+
+    private record Timer<T>(T item, long deadlineTick) {
+    }
+}
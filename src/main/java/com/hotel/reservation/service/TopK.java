@@ -0,0 +1,68 @@
+package com.hotel.reservation.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the k best elements seen under an ordering, best first.
+ *
+ * A heap of at most k elements with the worst on top, so each offer costs
+ * O(log k) and selecting from n elements costs O(n log k) instead of sorting
+ * all n.
+ */
+final class TopK<T> {
+
+    private final int k;
+    private final Comparator<? super T> order;
+    private final PriorityQueue<T> heap;
+
+    TopK(int k, Comparator<? super T> order) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        this.k = k;
+        this.order = order;
+        this.heap = new PriorityQueue<>(k, Collections.reverseOrder(order));
+    }
+
+    static <T> List<T> select(Collection<T> items, int k, Comparator<? super T> order) {
+        TopK<T> best = new TopK<>(k, order);
+        for (T item : items) {
+            best.offer(item);
+        }
+        return best.sorted();
+    }
+
+    /**
+     * Keep the element if it is among the k best so far; false if it was rejected
+     */
+    boolean offer(T element) {
+        if (heap.size() < k) {
+            heap.add(element);
+            return true;
+        }
+        if (order.compare(element, heap.peek()) < 0) {
+            heap.poll();
+            heap.add(element);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * The k-th best element once k are held, otherwise null
+     */
+    T cutoff() {
+        return heap.size() < k ? null : heap.peek();
+    }
+
+    List<T> sorted() {
+        List<T> sorted = new ArrayList<>(heap);
+        sorted.sort(order);
+        return sorted;
+    }
+}
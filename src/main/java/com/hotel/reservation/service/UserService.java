@@ -3,6 +3,7 @@ package com.hotel.reservation.service;
 import com.hotel.reservation.model.User;
 import com.hotel.reservation.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +18,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final StatsCounters statsCounters;
 
     /**
      * Register a new user
@@ -37,7 +39,9 @@ public class UserService {
                 .isActive(true)
                 .build();
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        AfterCommit.run(() -> statsCounters.userRegistered(true));
+        return saved;
     }
 
     /**
@@ -109,8 +113,10 @@ public class UserService {
     public boolean deactivateUser(Long userId) {
         return userRepository.findById(userId)
                 .map(user -> {
+                    boolean wasActive = Boolean.TRUE.equals(user.getIsActive());
                     user.setIsActive(false);
                     userRepository.save(user);
+                    AfterCommit.run(() -> statsCounters.userActiveChanged(wasActive, false));
                     return true;
                 })
                 .orElse(false);
@@ -123,6 +129,16 @@ public class UserService {
         return userRepository.findByIsActiveTrue();
     }
 
+    /**
+     * Page through active users by id; cursor is null for the first page (Admin only)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<User> getActiveUsersPage(String cursor, int limit) {
+        Long afterId = cursor == null ? 0L : PageCursor.decodeId(cursor, "users");
+        List<User> users = userRepository.findActivePage(afterId, PageRequest.ofSize(limit + 1));
+        return CursorPage.of(users, limit, user -> PageCursor.encode("users", user.getId()));
+    }
+
     /**
      * Search users by name or email (Admin only)
      */
@@ -134,10 +150,16 @@ public class UserService {
      * Get user statistics
      */
     public long getTotalUsers() {
+        if (statsCounters.isWarm()) {
+            return statsCounters.totalUsers();
+        }
         return userRepository.count();
     }
 
     public long getActiveUsersCount() {
+        if (statsCounters.isWarm()) {
+            return statsCounters.activeUsers();
+        }
         return userRepository.countByIsActiveTrue();
     }
 
@@ -0,0 +1,103 @@
+package com.hotel.reservation.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Money must round exactly like the BigDecimal code it replaced: HALF_UP to scale 2
+ */
+class MoneyTest {
+
+    @Test
+    void ofRoundsHalfUpToCents() {
+        assertEquals(1001, Money.of(new BigDecimal("10.005")).minor());
+        assertEquals(1000, Money.of(new BigDecimal("10.004")).minor());
+        assertEquals(1000, Money.of(new BigDecimal("10.0049999")).minor());
+        assertEquals(-1001, Money.of(new BigDecimal("-10.005")).minor());
+        assertEquals(-1000, Money.of(new BigDecimal("-10.004")).minor());
+        assertEquals(1, Money.of(new BigDecimal("0.005")).minor());
+        assertEquals(0, Money.of(new BigDecimal("-0.004")).minor());
+        assertEquals(250000, Money.of(new BigDecimal("2500")).minor());
+    }
+
+    @Test
+    void ofMatchesBigDecimalSetScaleOnHalfCentBoundaries() {
+        for (long thousandths = -200_000; thousandths <= 200_000; thousandths += 5) {
+            BigDecimal amount = BigDecimal.valueOf(thousandths, 3);
+            BigDecimal expected = amount.setScale(2, RoundingMode.HALF_UP);
+            assertEquals(expected, Money.of(amount).toBigDecimal(), amount.toPlainString());
+        }
+    }
+
+    @Test
+    void toBigDecimalHasScaleTwo() {
+        assertEquals(new BigDecimal("12.30"), Money.ofMinor(1230).toBigDecimal());
+        assertEquals(new BigDecimal("-0.05"), Money.ofMinor(-5).toBigDecimal());
+        assertEquals(new BigDecimal("0.00"), Money.ZERO.toBigDecimal());
+    }
+
+    @Test
+    void timesRoundsHalfUpAwayFromZero() {
+        assertEquals(1, Money.ofMinor(1).times(1, 2).minor());
+        assertEquals(-1, Money.ofMinor(-1).times(1, 2).minor());
+        assertEquals(2, Money.ofMinor(3).times(1, 2).minor());
+        assertEquals(-2, Money.ofMinor(-3).times(1, 2).minor());
+        assertEquals(120, Money.ofMinor(1001).times(12, 100).minor());
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinor(1).times(1, 0));
+    }
+
+    @Test
+    void timesMatchesBigDecimalDivide() {
+        long[][] ratios = {{12, 100}, {1, 2}, {1, 3}, {2, 3}, {115, 100}, {7, 8}, {-1, 4}};
+        for (long[] ratio : ratios) {
+            for (long minor = -20_000; minor <= 20_000; minor += 7) {
+                BigDecimal expected = BigDecimal.valueOf(minor)
+                        .multiply(BigDecimal.valueOf(ratio[0]))
+                        .divide(BigDecimal.valueOf(ratio[1]), 0, RoundingMode.HALF_UP);
+                assertEquals(expected.longValueExact(), Money.ofMinor(minor).times(ratio[0], ratio[1]).minor(),
+                        minor + " * " + ratio[0] + "/" + ratio[1]);
+            }
+        }
+    }
+
+    @Test
+    void taxAndFeeChainMatchesBigDecimalChain() {
+        Money fee = Money.ofMinor(2500);
+        for (long minor = 0; minor <= 5_000_000; minor += 13) {
+            BigDecimal roomCost = BigDecimal.valueOf(minor, 2);
+            // RoomService.addTaxesAndFees before Money
+            BigDecimal expected = roomCost.add(roomCost.multiply(BigDecimal.valueOf(0.12)))
+                    .add(BigDecimal.valueOf(25))
+                    .setScale(2, RoundingMode.HALF_UP);
+
+            Money cost = Money.of(roomCost);
+            Money total = cost.plus(cost.times(12, 100)).plus(fee);
+            assertEquals(expected, total.toBigDecimal(), roomCost.toPlainString());
+        }
+    }
+
+    @Test
+    void minorIntMatchesPaiseConversion() {
+        String[] amounts = {"0", "0.01", "1234.56", "1234.565", "1234.564", "-10.005", "21474836.47"};
+        for (String text : amounts) {
+            BigDecimal amount = new BigDecimal(text);
+            // PaymentService paise conversion before Money
+            int expected = amount.multiply(new BigDecimal("100")).setScale(0, RoundingMode.HALF_UP).intValueExact();
+            assertEquals(expected, Money.of(amount).toMinorIntExact(), text);
+        }
+        assertThrows(ArithmeticException.class, () -> Money.of(new BigDecimal("21474836.48")).toMinorIntExact());
+    }
+
+    @Test
+    void arithmeticIsExact() {
+        assertEquals(Money.ofMinor(300), Money.ofMinor(100).plus(Money.ofMinor(200)));
+        assertEquals(Money.ofMinor(-100), Money.ofMinor(100).minus(Money.ofMinor(200)));
+        assertEquals(Money.ofMinor(-5), Money.ofMinor(5).negate());
+        assertThrows(ArithmeticException.class, () -> Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1)));
+    }
+}
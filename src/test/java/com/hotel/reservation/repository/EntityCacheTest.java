@@ -0,0 +1,158 @@
+package com.hotel.reservation.repository;
+
+import com.hotel.reservation.model.Hotel;
+import com.hotel.reservation.model.Room;
+import com.hotel.reservation.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hotels, rooms and users are served from the second-level cache on repeat
+ * primary-key loads, and writes through save or a bulk update never leave a
+ * stale copy behind.
+ *
+ * Each repository call runs in its own transaction and persistence context,
+ * so only the second-level cache can serve a repeat load.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityCacheTest {
+
+    @Autowired
+    private HotelRepository hotelRepository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+    private Hotel hotel;
+    private Room room;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        roomRepository.deleteAll();
+        hotelRepository.deleteAll();
+        userRepository.deleteAll();
+
+        hotel = hotelRepository.save(Hotel.builder().name("Cache Inn").address("1 Test Road").build());
+        room = roomRepository.save(Room.builder().hotel(hotel).roomNumber("101").category("DELUXE")
+                .capacity(2).basePrice(new BigDecimal("2500.00")).build());
+        user = userRepository.save(User.builder().fullName("Cache Guest").email("guest@cache.test").build());
+
+        // Start every test from an empty cache and zeroed counters
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void statisticsAreEnabled() {
+        assertTrue(statistics.isStatisticsEnabled());
+    }
+
+    @Test
+    void repeatHotelLoadHitsTheCache() {
+        assertTrue(hotelRepository.findByIdAndIsActiveTrue(hotel.getId()).isPresent());
+        assertCounts("hotels", 0, 1, 1);
+
+        assertTrue(hotelRepository.findByIdAndIsActiveTrue(hotel.getId()).isPresent());
+        assertCounts("hotels", 1, 1, 1);
+    }
+
+    @Test
+    void repeatRoomLoadHitsTheCache() {
+        assertTrue(roomRepository.findByIdAndIsActiveTrue(room.getId()).isPresent());
+        assertCounts("rooms", 0, 1, 1);
+
+        assertTrue(roomRepository.findByIdAndIsActiveTrue(room.getId()).isPresent());
+        assertCounts("rooms", 1, 1, 1);
+    }
+
+    @Test
+    void repeatUserLoadHitsTheCache() {
+        assertTrue(userRepository.findByIdAndIsActiveTrue(user.getId()).isPresent());
+        assertCounts("users", 0, 1, 1);
+
+        assertTrue(userRepository.findByIdAndIsActiveTrue(user.getId()).isPresent());
+        assertCounts("users", 1, 1, 1);
+    }
+
+    @Test
+    void saveReplacesTheCachedHotel() {
+        Hotel cached = hotelRepository.findByIdAndIsActiveTrue(hotel.getId()).orElseThrow();
+        cached.setName("Cache Inn Renamed");
+        hotelRepository.save(cached);
+
+        assertEquals("Cache Inn Renamed", hotelRepository.findByIdAndIsActiveTrue(hotel.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void saveReplacesTheCachedUser() {
+        User cached = userRepository.findByIdAndIsActiveTrue(user.getId()).orElseThrow();
+        cached.setIsActive(false);
+        userRepository.save(cached);
+
+        assertFalse(userRepository.findByIdAndIsActiveTrue(user.getId()).isPresent());
+    }
+
+    @Test
+    void bulkAmenityMaskUpdateInvalidatesTheHotelRegion() {
+        hotelRepository.findByIdAndIsActiveTrue(hotel.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Hotel.class, hotel.getId()));
+
+        inTransaction(() -> hotelRepository.updateAmenityMask(hotel.getId(), 0b101L));
+        assertFalse(entityManagerFactory.getCache().contains(Hotel.class, hotel.getId()));
+
+        assertEquals(0b101L, hotelRepository.findByIdAndIsActiveTrue(hotel.getId()).orElseThrow().getAmenityMask());
+        assertCounts("hotels", 0, 2, 2);
+    }
+
+    @Test
+    void bulkAmenityMaskUpdateInvalidatesTheRoomRegion() {
+        roomRepository.findByIdAndIsActiveTrue(room.getId());
+        assertTrue(entityManagerFactory.getCache().contains(Room.class, room.getId()));
+
+        inTransaction(() -> roomRepository.updateAmenityMask(room.getId(), 0b11L));
+        assertFalse(entityManagerFactory.getCache().contains(Room.class, room.getId()));
+
+        assertEquals(0b11L, roomRepository.findByIdAndIsActiveTrue(room.getId()).orElseThrow().getAmenityMask());
+        assertCounts("rooms", 0, 2, 2);
+    }
+
+    private void inTransaction(Runnable work) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> work.run());
+    }
+
+    private void assertCounts(String region, long hits, long misses, long puts) {
+        CacheRegionStatistics counts = statistics.getDomainDataRegionStatistics(region);
+        assertEquals(hits, counts.getHitCount(), region + " hits");
+        assertEquals(misses, counts.getMissCount(), region + " misses");
+        assertEquals(puts, counts.getPutCount(), region + " puts");
+    }
+}